@@ -17,6 +17,10 @@ import dev.utils.common.cipher.Cipher;
 /**
  * detail: 缓存类
  * @author Ttt
+ * <pre>
+ *     线程安全, 不同 key 可并发读写, 同一 key 的写入、移除串行执行
+ *     读写、清除均在调用线程中同步执行文件 I/O ( 不再另开线程 ), 数据较多时建议在子线程中调用
+ * </pre>
  */
 public final class DevCache {
 
@@ -58,17 +62,27 @@ public final class DevCache {
 
     /**
      * 获取 DevCache
+     * <pre>
+     *     首次创建时同步打开日志文件并迁移旧版缓存文件 ( 持有全局实例锁 )
+     *     旧版缓存文件较多时耗时较长, 建议在子线程中首次调用
+     * </pre>
      * @return {@link DevCache}
      */
     public static DevCache newCache() {
-        DevCache cache = DevCacheManager.sInstanceMaps.get("");
-        if (cache == null) {
-            String cachePath = PathUtils.getAppExternal().getAppCachePath(DEFAULT_NAME);
-            cache = new DevCache(cachePath, null);
-            DevCacheManager.sInstanceMaps.put("", cache);
-            DevCacheManager.sInstanceMaps.put(cachePath, cache);
+        // 同一地址只创建一个实例 ( 多个实例同时写入同一日志文件会损坏数据 )
+        synchronized (DevCacheManager.sInstanceMaps) {
+            DevCache cache = DevCacheManager.sInstanceMaps.get("");
+            if (cache == null) {
+                String cachePath = PathUtils.getAppExternal().getAppCachePath(DEFAULT_NAME);
+                cache = DevCacheManager.sInstanceMaps.get(cachePath);
+                if (cache == null) {
+                    cache = new DevCache(cachePath, null);
+                    DevCacheManager.sInstanceMaps.put(cachePath, cache);
+                }
+                DevCacheManager.sInstanceMaps.put("", cache);
+            }
+            return cache;
         }
-        return cache;
     }
 
     /**
@@ -82,6 +96,10 @@ public final class DevCache {
 
     /**
      * 获取 DevCache
+     * <pre>
+     *     首次创建时同步打开日志文件并迁移旧版缓存文件 ( 持有全局实例锁 )
+     *     旧版缓存文件较多时耗时较长, 建议在子线程中首次调用
+     * </pre>
      * @param cachePath 缓存文件夹路径
      * @param cipher    通用加解密中间层
      * @return {@link DevCache}
@@ -93,12 +111,14 @@ public final class DevCache {
         if (TextUtils.isEmpty(cachePath)) {
             return newCache();
         }
-        DevCache cache = DevCacheManager.sInstanceMaps.get(cachePath);
-        if (cache == null) {
-            cache = new DevCache(cachePath, cipher);
-            DevCacheManager.sInstanceMaps.put(cachePath, cache);
+        synchronized (DevCacheManager.sInstanceMaps) {
+            DevCache cache = DevCacheManager.sInstanceMaps.get(cachePath);
+            if (cache == null) {
+                cache = new DevCache(cachePath, cipher);
+                DevCacheManager.sInstanceMaps.put(cachePath, cache);
+            }
+            return cache;
         }
-        return cache;
     }
 
     /**
@@ -120,7 +140,7 @@ public final class DevCache {
     }
 
     /**
-     * 删除 Key[] 配置、数据文件
+     * 移除 Key[] 数据
      * @param keys 存储 key[]
      */
     public void removeForKeys(String[] keys) {
@@ -150,6 +170,9 @@ public final class DevCache {
 
     /**
      * 清除全部数据
+     * <pre>
+     *     在调用线程中同步清空日志文件 ( 阻塞调用线程 )
+     * </pre>
      */
     public void clear() {
         mManager.clear();
@@ -157,13 +180,29 @@ public final class DevCache {
 
     /**
      * 清除过期数据
+     * <pre>
+     *     在调用线程中同步移除全部过期数据, 每条移除写入一条日志记录 ( 阻塞调用线程 )
+     *     过期数据较多时建议在子线程中调用, 或使用 {@link #startSweeper(long, int)} 分批移除
+     * </pre>
      */
     public void clearDue() {
         mManager.clearDue();
     }
 
+    /**
+     * 按到期时间顺序移除过期数据
+     * @param maxCount 最大移除数量
+     * @return 移除数量
+     */
+    int sweepDue(int maxCount) {
+        return mManager.sweepDue(maxCount);
+    }
+
     /**
      * 清除某个类型的全部数据
+     * <pre>
+     *     在调用线程中同步遍历全部数据并移除, 每条移除写入一条日志记录 ( 阻塞调用线程 )
+     * </pre>
      * @param type 类型
      */
     public void clearType(int type) {
@@ -211,6 +250,145 @@ public final class DevCache {
         return mManager.getSize();
     }
 
+    /**
+     * 设置最大缓存大小
+     * <pre>
+     *     超过后按最近最少使用淘汰数据
+     * </pre>
+     * @param maxSize 最大缓存大小 ( 小于等于 0 则不限制 )
+     * @return {@link DevCache}
+     */
+    public DevCache setMaxSize(long maxSize) {
+        mManager.setMaxSize(maxSize);
+        return this;
+    }
+
+    /**
+     * 设置最大缓存数量
+     * <pre>
+     *     超过后按最近最少使用淘汰数据
+     * </pre>
+     * @param maxCount 最大缓存数量 ( 小于等于 0 则不限制 )
+     * @return {@link DevCache}
+     */
+    public DevCache setMaxCount(int maxCount) {
+        mManager.setMaxCount(maxCount);
+        return this;
+    }
+
+    /**
+     * 压缩缓存文件
+     * <pre>
+     *     缓存数据追加写入单个日志文件, 覆盖、删除后的无效数据较多时会自动压缩
+     * </pre>
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean compact() {
+        return mManager.compact();
+    }
+
+    // ==================
+    // = 定时清除过期数据 =
+    // ==================
+
+    /**
+     * 开启定时清除过期数据 ( 默认每 60 秒, 每次每个缓存最多移除 100 条 )
+     */
+    public static void startSweeper() {
+        DevCacheSweeper.start(DevCacheSweeper.DEFAULT_INTERVAL, DevCacheSweeper.DEFAULT_MAX_COUNT);
+    }
+
+    /**
+     * 开启定时清除过期数据
+     * <pre>
+     *     全部 DevCache 实例共用一个定时线程, 按到期时间顺序移除过期数据 ( 无需遍历全部数据 )
+     *     maxCount 限制每次每个缓存的移除数量 ( 每条移除写入一条记录 ), 剩余过期数据下次继续移除
+     *     已开启则按新配置重新开启
+     * </pre>
+     * @param interval 清除间隔 ( 毫秒 )
+     * @param maxCount 每次每个缓存最多移除数量
+     */
+    public static void startSweeper(
+            final long interval,
+            final int maxCount
+    ) {
+        DevCacheSweeper.start(interval, maxCount);
+    }
+
+    /**
+     * 关闭定时清除过期数据
+     */
+    public static void stopSweeper() {
+        DevCacheSweeper.stop();
+    }
+
+    /**
+     * 是否已开启定时清除过期数据
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isSweeperRunning() {
+        return DevCacheSweeper.isRunning();
+    }
+
+    // ==========
+    // = 内存缓存 =
+    // ==========
+
+    /**
+     * 设置内存缓存最大大小
+     * <pre>
+     *     开启后 Bitmap、Drawable、JSONObject、JSONArray、Serializable 解码后保存在内存中
+     *     再次获取时无需读取文件、解密、解码, Bitmap 按占用内存计算大小, 其他按存储数据大小计算
+     *     超过后按最近最少使用淘汰, 保存、移除、过期后失效
+     *     注意: 返回的 Bitmap、JSONObject、JSONArray、Serializable 为共享实例, 请勿修改或回收
+     * </pre>
+     * @param maxSize 内存缓存最大大小 ( 小于等于 0 则关闭 )
+     * @return {@link DevCache}
+     */
+    public DevCache setMemoryMaxSize(long maxSize) {
+        mManager.setMemoryMaxSize(maxSize);
+        return this;
+    }
+
+    /**
+     * 获取内存缓存最大大小
+     * @return 内存缓存最大大小 ( 0 为未开启 )
+     */
+    public long getMemoryMaxSize() {
+        return mManager.getMemoryMaxSize();
+    }
+
+    /**
+     * 获取内存缓存大小
+     * @return 内存缓存大小
+     */
+    public long getMemorySize() {
+        return mManager.getMemorySize();
+    }
+
+    /**
+     * 获取内存缓存命中次数
+     * @return 内存缓存命中次数
+     */
+    public long getMemoryHitCount() {
+        return mManager.getMemoryHitCount();
+    }
+
+    /**
+     * 获取内存缓存未命中次数
+     * @return 内存缓存未命中次数
+     */
+    public long getMemoryMissCount() {
+        return mManager.getMemoryMissCount();
+    }
+
+    /**
+     * 清空内存缓存 ( 不影响文件缓存 )
+     */
+    public void clearMemory() {
+        mManager.clearMemory();
+    }
+
     // =======
     // = 存储 =
     // =======
@@ -718,29 +896,29 @@ public final class DevCache {
      */
     public static final class Data {
 
-        // 缓存地址
-        private final String mPath;
         // 存储 Key
         private final String mKey;
         // 存储类型
-        private       int    mType;
+        private final int    mType;
         // 保存时间 ( 毫秒 )
-        private       long   mSaveTime;
+        private final long   mSaveTime;
         // 有效期 ( 毫秒 )
-        private       long   mValidTime;
+        private final long   mValidTime;
+        // 数据大小
+        private final long   mSize;
 
         protected Data(
-                String path,
                 String key,
                 int type,
                 long saveTime,
-                long validTime
+                long validTime,
+                long size
         ) {
-            this.mPath      = path;
             this.mKey       = key;
             this.mType      = type;
             this.mSaveTime  = saveTime;
             this.mValidTime = validTime;
+            this.mSize      = size;
         }
 
         /**
@@ -774,7 +952,7 @@ public final class DevCache {
          * @return 文件大小
          */
         public long getSize() {
-            return DevCacheManager.getDataFileSize(mPath, mKey);
+            return mSize;
         }
 
         // =
@@ -803,23 +981,6 @@ public final class DevCache {
             return mValidTime;
         }
 
-        // =
-
-        protected Data setType(int type) {
-            this.mType = type;
-            return this;
-        }
-
-        protected Data setSaveTime(long saveTime) {
-            this.mSaveTime = saveTime;
-            return this;
-        }
-
-        protected Data setValidTime(long validTime) {
-            this.mValidTime = validTime;
-            return this;
-        }
-
         // ==========
         // = 判断方法 =
         // ==========
@@ -17,11 +17,8 @@ import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
-import java.util.concurrent.atomic.AtomicLong;
 
 import dev.utils.DevFinal;
 import dev.utils.LogPrintUtils;
@@ -40,17 +37,17 @@ final class DevCacheManager {
     protected static final Map<String, DevCache> sInstanceMaps    = new HashMap<>();
     // 日志 TAG
     private final          String                TAG              = DevCacheManager.class.getSimpleName();
-    // 文件后缀
+    // 旧版文件后缀 ( 每个 key 一个数据文件、一个配置文件, 用于迁移 )
     private static final   String                DATA_EXTENSION   = ".data";
     private static final   String                CONFIG_EXTENSION = ".config";
     // 缓存地址
     private final          String                mCachePath;
     // 通用加解密中间层
     private final          Cipher                mCipher;
-    // 总缓存大小
-    private final          AtomicLong            mCacheSize       = new AtomicLong();
-    // 总缓存的文件总数
-    private final          AtomicInteger         mCacheCount      = new AtomicInteger();
+    // 缓存日志存储
+    private final          DevCacheStore         mStore;
+    // 缓存内存层 ( 为 null 则不开启 )
+    private volatile       DevCacheMemory        mMemory;
 
     public DevCacheManager(
             String cachePath,
@@ -58,37 +55,47 @@ final class DevCacheManager {
     ) {
         this.mCachePath = cachePath;
         this.mCipher    = cipher;
-        // 计算文件信息
-        calculateCacheSizeAndCacheCount();
+        this.mStore     = new DevCacheStore(cachePath);
+        // 迁移旧版缓存文件
+        _migrateLegacy();
     }
 
     /**
-     * 计算 cacheSize 和 cacheCount
+     * 迁移旧版缓存文件 ( key.data、key.config ) 到日志存储
+     * <pre>
+     *     数据已按旧版方式加密, 直接写入不再重复加密, 写入成功后才删除旧版文件
+     * </pre>
      */
-    private void calculateCacheSizeAndCacheCount() {
-        new Thread(() -> {
-            long size = 0, count = 0;
-            if (mCachePath != null) {
-                File[] cachedFiles = new File(mCachePath).listFiles();
-                if (cachedFiles != null) {
-                    for (File file : cachedFiles) {
-                        if (file != null && file.isFile()) {
-                            String fileName = file.getName();
-                            if (fileName.endsWith(CONFIG_EXTENSION)) {
-                                String        key  = FileUtils.getFileNotSuffix(fileName);
-                                DevCache.Data data = _mapGetData(key);
-                                if (data != null) {
-                                    size += data.getSize();
-                                    count += 1;
-                                }
-                            }
-                        }
-                    }
-                    mCacheSize.set(size);
-                    mCacheCount.set((int) count);
+    private void _migrateLegacy() {
+        if (mCachePath == null) return;
+        File[] files = new File(mCachePath).listFiles();
+        if (files == null) return;
+        for (File file : files) {
+            if (file == null || !file.isFile()) continue;
+            String fileName = file.getName();
+            if (!fileName.endsWith(CONFIG_EXTENSION)) continue;
+            String key      = FileUtils.getFileNotSuffix(fileName);
+            File   dataFile = FileUtils.getFile(mCachePath, key + DATA_EXTENSION);
+            boolean migrated = false;
+            try {
+                JSONObject jsonObject = new JSONObject(new String(FileUtils.readFileBytes(file)));
+                byte[]     bytes      = FileUtils.readFileBytes(dataFile);
+                if (bytes != null && jsonObject.has("type")
+                        && jsonObject.has("saveTime") && jsonObject.has("validTime")) {
+                    migrated = mStore.put(
+                            key, jsonObject.getInt("type"), bytes,
+                            jsonObject.getLong("saveTime"), jsonObject.getLong("validTime")
+                    );
                 }
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "_migrateLegacy");
+            }
+            // 写入失败保留旧版文件, 下次初始化时重新迁移
+            if (migrated) {
+                FileUtils.deleteFile(dataFile);
+                FileUtils.deleteFile(file);
             }
-        }).start();
+        }
     }
 
     // =============
@@ -103,15 +110,8 @@ final class DevCacheManager {
 
     public void remove(String key) {
         if (TextUtils.isEmpty(key)) return;
-        File dataFile   = _getKeyDataFile(key);
-        File configFile = _getKeyConfigFile(key);
-        long size       = getDataFileSize(mCachePath, key);
-        if (FileUtils.deleteFile(dataFile)
-                && FileUtils.deleteFile(configFile)) {
-            mCacheSize.addAndGet(-size);
-            mCacheCount.addAndGet(-1);
-            mDataMaps.remove(key); // 移除缓存
-        }
+        mStore.remove(key);
+        _removeMemory(key);
     }
 
     public void removeForKeys(String[] keys) {
@@ -122,7 +122,8 @@ final class DevCacheManager {
     }
 
     public boolean contains(String key) {
-        return _isExistKeyFile(key);
+        if (TextUtils.isEmpty(key)) return false;
+        return mStore.contains(key);
     }
 
     public boolean isDue(String key) {
@@ -132,33 +133,38 @@ final class DevCacheManager {
     }
 
     public void clear() {
-        new Thread(() -> {
-            HashSet<String> keys = new HashSet<>(mDataMaps.keySet());
-            for (String key : keys) {
-                remove(key);
-            }
-        }).start();
+        mStore.clear();
+        DevCacheMemory memory = mMemory;
+        if (memory != null) memory.clear();
     }
 
     public void clearDue() {
-        new Thread(() -> {
-            HashSet<String> keys = new HashSet<>(mDataMaps.keySet());
-            for (String key : keys) {
-                if (isDue(key)) remove(key);
+        sweepDue(Integer.MAX_VALUE);
+    }
+
+    /**
+     * 按到期时间顺序移除过期数据
+     * @param maxCount 最大移除数量
+     * @return 移除数量
+     */
+    int sweepDue(int maxCount) {
+        int count = 0;
+        for (DevCacheStore.Entry entry : mStore.getDueEntries(System.currentTimeMillis(), maxCount)) {
+            // 期间被覆盖则不移除
+            if (mStore.remove(entry.key, entry)) {
+                _removeMemory(entry.key);
+                count++;
             }
-        }).start();
+        }
+        return count;
     }
 
     public void clearType(int type) {
-        new Thread(() -> {
-            HashSet<String> keys = new HashSet<>(mDataMaps.keySet());
-            for (String key : keys) {
-                DevCache.Data data = _mapGetData(key);
-                if (data != null && data.getType() == type) {
-                    remove(key);
-                }
+        for (DevCacheStore.Entry entry : mStore.getEntries()) {
+            if (entry.type == type && mStore.remove(entry.key, entry)) {
+                _removeMemory(entry.key);
             }
-        }).start();
+        }
     }
 
     public DevCache.Data getItemByKey(String key) {
@@ -166,15 +172,18 @@ final class DevCacheManager {
     }
 
     public List<DevCache.Data> getKeys() {
-        return new ArrayList<>(mDataMaps.values());
+        List<DevCache.Data> lists = new ArrayList<>();
+        for (DevCacheStore.Entry entry : mStore.getEntries()) {
+            lists.add(_toData(entry));
+        }
+        return lists;
     }
 
     public List<DevCache.Data> getPermanentKeys() {
         List<DevCache.Data> lists = new ArrayList<>();
-        HashSet<String>     keys  = new HashSet<>(mDataMaps.keySet());
-        for (String key : keys) {
-            DevCache.Data data = _mapGetData(key);
-            if (data != null && data.isPermanent()) {
+        for (DevCacheStore.Entry entry : mStore.getEntries()) {
+            DevCache.Data data = _toData(entry);
+            if (data.isPermanent()) {
                 lists.add(data);
             }
         }
@@ -182,11 +191,62 @@ final class DevCacheManager {
     }
 
     public int getCount() {
-        return mCacheCount.get();
+        return mStore.getCount();
     }
 
     public long getSize() {
-        return mCacheSize.get();
+        return mStore.getSize();
+    }
+
+    // =
+
+    public void setMaxSize(long maxSize) {
+        mStore.setMaxSize(maxSize);
+    }
+
+    public void setMaxCount(int maxCount) {
+        mStore.setMaxCount(maxCount);
+    }
+
+    public boolean compact() {
+        return mStore.compact();
+    }
+
+    // =
+
+    public synchronized void setMemoryMaxSize(long maxSize) {
+        if (maxSize <= 0L) {
+            mMemory = null;
+        } else if (mMemory == null) {
+            mMemory = new DevCacheMemory(maxSize);
+        } else {
+            mMemory.setMaxSize(maxSize);
+        }
+    }
+
+    public long getMemoryMaxSize() {
+        DevCacheMemory memory = mMemory;
+        return (memory != null) ? memory.getMaxSize() : 0L;
+    }
+
+    public long getMemorySize() {
+        DevCacheMemory memory = mMemory;
+        return (memory != null) ? memory.getSize() : 0L;
+    }
+
+    public long getMemoryHitCount() {
+        DevCacheMemory memory = mMemory;
+        return (memory != null) ? memory.getHitCount() : 0L;
+    }
+
+    public long getMemoryMissCount() {
+        DevCacheMemory memory = mMemory;
+        return (memory != null) ? memory.getMissCount() : 0L;
+    }
+
+    public void clearMemory() {
+        DevCacheMemory memory = mMemory;
+        if (memory != null) memory.clear();
     }
 
     // =======
@@ -388,17 +448,12 @@ final class DevCacheManager {
             String key,
             int defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                try {
-                    byte[] bytes = _get(key);
-                    return Integer.parseInt(new String(bytes));
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getInt");
-                }
+        byte[] bytes = _get(key);
+        if (bytes != null) {
+            try {
+                return Integer.parseInt(new String(bytes));
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, "getInt");
             }
         }
         return defaultValue;
@@ -408,17 +463,12 @@ final class DevCacheManager {
             String key,
             long defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                try {
-                    byte[] bytes = _get(key);
-                    return Long.parseLong(new String(bytes));
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getLong");
-                }
+        byte[] bytes = _get(key);
+        if (bytes != null) {
+            try {
+                return Long.parseLong(new String(bytes));
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, "getLong");
             }
         }
         return defaultValue;
@@ -428,17 +478,12 @@ final class DevCacheManager {
             String key,
             float defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                try {
-                    byte[] bytes = _get(key);
-                    return Float.parseFloat(new String(bytes));
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getFloat");
-                }
+        byte[] bytes = _get(key);
+        if (bytes != null) {
+            try {
+                return Float.parseFloat(new String(bytes));
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, "getFloat");
             }
         }
         return defaultValue;
@@ -448,17 +493,12 @@ final class DevCacheManager {
             String key,
             double defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                try {
-                    byte[] bytes = _get(key);
-                    return Double.parseDouble(new String(bytes));
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getDouble");
-                }
+        byte[] bytes = _get(key);
+        if (bytes != null) {
+            try {
+                return Double.parseDouble(new String(bytes));
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, "getDouble");
             }
         }
         return defaultValue;
@@ -468,17 +508,12 @@ final class DevCacheManager {
             String key,
             boolean defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                try {
-                    byte[] bytes = _get(key);
-                    return Boolean.parseBoolean(new String(bytes));
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getBoolean");
-                }
+        byte[] bytes = _get(key);
+        if (bytes != null) {
+            try {
+                return Boolean.parseBoolean(new String(bytes));
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, "getBoolean");
             }
         }
         return defaultValue;
@@ -488,17 +523,12 @@ final class DevCacheManager {
             String key,
             String defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                try {
-                    byte[] bytes = _get(key);
-                    return new String(bytes);
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getString");
-                }
+        byte[] bytes = _get(key);
+        if (bytes != null) {
+            try {
+                return new String(bytes);
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, "getString");
             }
         }
         return defaultValue;
@@ -508,57 +538,29 @@ final class DevCacheManager {
             String key,
             byte[] defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                try {
-                    return _get(key);
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getBytes");
-                }
-            }
-        }
-        return defaultValue;
+        byte[] bytes = _get(key);
+        return (bytes != null) ? bytes : defaultValue;
     }
 
     public Bitmap getBitmap(
             String key,
             Bitmap defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                try {
-                    byte[] bytes = _get(key);
-                    return ImageUtils.decodeByteArray(bytes);
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getBitmap");
-                }
-            }
-        }
-        return defaultValue;
+        Bitmap bitmap = _getBitmap(key, "getBitmap");
+        return (bitmap != null) ? bitmap : defaultValue;
     }
 
     public Drawable getDrawable(
             String key,
             Drawable defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                try {
-                    byte[] bytes  = _get(key);
-                    Bitmap bitmap = ImageUtils.decodeByteArray(bytes);
-                    return ImageUtils.bitmapToDrawable(bitmap);
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getDrawable");
-                }
+        Bitmap bitmap = _getBitmap(key, "getDrawable");
+        if (bitmap != null) {
+            try {
+                // Drawable 含绘制状态, 每次创建新实例
+                return ImageUtils.bitmapToDrawable(bitmap);
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, "getDrawable");
             }
         }
         return defaultValue;
@@ -568,21 +570,23 @@ final class DevCacheManager {
             String key,
             Object defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                ObjectInputStream ois = null;
-                try {
-                    byte[] bytes = _get(key);
-                    ois = new ObjectInputStream(new ByteArrayInputStream(bytes));
-                    return ois.readObject();
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getSerializable");
-                } finally {
-                    CloseUtils.closeIOQuietly(ois);
-                }
+        DevCacheStore.Entry entry = _getEntry(key);
+        if (entry == null) return defaultValue;
+        // 只命中反序列化得到的数据, 避免返回同一 key 以其他类型解码的数据
+        Serializable cache = _getMemory(entry, Serializable.class);
+        if (cache != null) return cache;
+        byte[] bytes = _read(entry);
+        if (bytes != null) {
+            ObjectInputStream ois = null;
+            try {
+                ois = new ObjectInputStream(new ByteArrayInputStream(bytes));
+                Object value = ois.readObject();
+                _putMemory(entry, value, entry.length);
+                return value;
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, "getSerializable");
+            } finally {
+                CloseUtils.closeIOQuietly(ois);
             }
         }
         return defaultValue;
@@ -593,20 +597,15 @@ final class DevCacheManager {
             Parcelable.Creator<T> creator,
             T defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                try {
-                    byte[] bytes  = _get(key);
-                    Parcel parcel = Parcel.obtain();
-                    parcel.unmarshall(bytes, 0, bytes.length);
-                    parcel.setDataPosition(0);
-                    return creator.createFromParcel(parcel);
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getParcelable");
-                }
+        byte[] bytes = _get(key);
+        if (bytes != null) {
+            try {
+                Parcel parcel = Parcel.obtain();
+                parcel.unmarshall(bytes, 0, bytes.length);
+                parcel.setDataPosition(0);
+                return creator.createFromParcel(parcel);
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, "getParcelable");
             }
         }
         return defaultValue;
@@ -616,17 +615,18 @@ final class DevCacheManager {
             String key,
             JSONObject defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                try {
-                    byte[] bytes = _get(key);
-                    return new JSONObject(new String(bytes));
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getJSONObject");
-                }
+        DevCacheStore.Entry entry = _getEntry(key);
+        if (entry == null) return defaultValue;
+        JSONObject value = _getMemory(entry, JSONObject.class);
+        if (value != null) return value;
+        byte[] bytes = _read(entry);
+        if (bytes != null) {
+            try {
+                value = new JSONObject(new String(bytes));
+                _putMemory(entry, value, entry.length);
+                return value;
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, "getJSONObject");
             }
         }
         return defaultValue;
@@ -636,17 +636,18 @@ final class DevCacheManager {
             String key,
             JSONArray defaultValue
     ) {
-        DevCache.Data data = _mapGetData(key);
-        if (data != null) {
-            if (data.isDue()) {
-                remove(key);
-            } else {
-                try {
-                    byte[] bytes = _get(key);
-                    return new JSONArray(new String(bytes));
-                } catch (Exception e) {
-                    LogPrintUtils.eTag(TAG, "getJSONArray");
-                }
+        DevCacheStore.Entry entry = _getEntry(key);
+        if (entry == null) return defaultValue;
+        JSONArray value = _getMemory(entry, JSONArray.class);
+        if (value != null) return value;
+        byte[] bytes = _read(entry);
+        if (bytes != null) {
+            try {
+                value = new JSONArray(new String(bytes));
+                _putMemory(entry, value, entry.length);
+                return value;
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, "getJSONArray");
             }
         }
         return defaultValue;
@@ -657,115 +658,26 @@ final class DevCacheManager {
     // ==========
 
     /**
-     * 获取 Key 数据文件
-     * @param key 存储 key
-     * @return Key 数据文件
-     */
-    private File _getKeyDataFile(final String key) {
-        if (TextUtils.isEmpty(key)) return null;
-        return FileUtils.getFile(mCachePath, key + DATA_EXTENSION);
-    }
-
-    /**
-     * 获取 Key 配置文件
+     * 获取 Key 对应 Data
      * @param key 存储 key
-     * @return Key 配置文件
-     */
-    private File _getKeyConfigFile(final String key) {
-        if (TextUtils.isEmpty(key)) return null;
-        return FileUtils.getFile(mCachePath, key + CONFIG_EXTENSION);
-    }
-
-    /**
-     * 获取存储数据大小
-     * @param path 文件地址
-     * @param key  存储 key
-     * @return 存储数据大小
-     */
-    public static long getDataFileSize(
-            final String path,
-            final String key
-    ) {
-        if (TextUtils.isEmpty(key)) return 0L;
-        return FileUtils.getFileLength(
-                FileUtils.getFile(path, key + DATA_EXTENSION)
-        );
-    }
-
-    /**
-     * 判断是否存在 Key 配置、数据文件
-     * @param key 存储 key
-     * @return {@code true} yes, {@code false} no
+     * @return {@link DevCache.Data}
      */
-    private boolean _isExistKeyFile(final String key) {
-        if (TextUtils.isEmpty(key)) return false;
-        return FileUtils.isFileExists(_getKeyDataFile(key))
-                && FileUtils.isFileExists(_getKeyConfigFile(key));
-    }
-
-    // ========
-    // = Data =
-    // ========
-
-    // 缓存 Data
-    private final HashMap<String, DevCache.Data> mDataMaps = new HashMap<>();
-
     private DevCache.Data _mapGetData(final String key) {
         if (TextUtils.isEmpty(key)) return null;
-        DevCache.Data data = mDataMaps.get(key);
-        if (data == null) {
-            data = _getData(key);
-            if (data != null) {
-                mDataMaps.put(key, data);
-            }
-        }
-        return data;
-    }
-
-    // =
-
-    /**
-     * Data Format JSON String
-     * @param data 数据源
-     * @return JSON String
-     */
-    private String _toDataString(final DevCache.Data data) {
-        // Data JSON Format
-        return String.format(
-                "{\"key\":\"%s\",\"type\":%d,\"saveTime\":%d,\"validTime\":%d}",
-                data.getKey(), data.getType(),
-                data.getSaveTime(), data.getValidTime()
-        );
+        DevCacheStore.Entry entry = mStore.getEntry(key);
+        return entry != null ? _toData(entry) : null;
     }
 
     /**
-     * 读取配置初始化 Data
-     * @param key 存储 key
+     * 索引数据转换 Data
+     * @param entry 索引数据
      * @return {@link DevCache.Data}
      */
-    private DevCache.Data _getData(final String key) {
-        if (!_isExistKeyFile(key)) return null;
-        try {
-            File       configFile = _getKeyConfigFile(key);
-            String     config     = new String(FileUtils.readFileBytes(configFile));
-            JSONObject jsonObject = new JSONObject(config);
-            if (jsonObject.has("key")
-                    && jsonObject.has("type")
-                    && jsonObject.has("saveTime")
-                    && jsonObject.has("validTime")
-            ) {
-                String _key      = jsonObject.getString("key");
-                int    type      = jsonObject.getInt("type");
-                long   saveTime  = jsonObject.getLong("saveTime");
-                long   validTime = jsonObject.getLong("validTime");
-                return new DevCache.Data(mCachePath, _key,
-                        type, saveTime, validTime
-                );
-            }
-        } catch (Exception e) {
-            LogPrintUtils.eTag(TAG, e, "_getData");
-        }
-        return null;
+    private DevCache.Data _toData(final DevCacheStore.Entry entry) {
+        return new DevCache.Data(
+                entry.key, entry.type, entry.saveTime,
+                entry.validTime, entry.length
+        );
     }
 
     // =
@@ -794,25 +706,8 @@ final class DevCacheManager {
             }
         }
         if (bytes == null) return false;
-        DevCache.Data data   = _mapGetData(key);
-        long          size   = getDataFileSize(mCachePath, key);
-        boolean       result = FileUtils.saveFile(_getKeyDataFile(key), bytes);
-        if (result) {
-            if (data != null) {
-                data.setSaveTime(System.currentTimeMillis())
-                        .setType(type).setValidTime(validTime);
-                mCacheSize.addAndGet(-size);
-                mCacheSize.addAndGet(getDataFileSize(mCachePath, key));
-            } else {
-                data = new DevCache.Data(mCachePath, key, type,
-                        System.currentTimeMillis(), validTime
-                );
-                mCacheSize.addAndGet(getDataFileSize(mCachePath, key));
-                mCacheCount.incrementAndGet();
-                mDataMaps.put(key, data);
-            }
-            FileUtils.saveFile(_getKeyConfigFile(key), _toDataString(data).getBytes());
-        }
+        boolean result = mStore.put(key, type, bytes, System.currentTimeMillis(), validTime);
+        _removeMemory(key);
         return result;
     }
 
@@ -822,15 +717,114 @@ final class DevCacheManager {
      * @return 保存的数据
      */
     private byte[] _get(String key) {
-        byte[] bytes = FileUtils.readFileBytes(_getKeyDataFile(key));
+        DevCacheStore.Entry entry = _getEntry(key);
+        return (entry != null) ? _read(entry) : null;
+    }
+
+    /**
+     * 获取未过期索引数据
+     * <pre>
+     *     已过期则移除 ( 期间被其他线程覆盖则不移除 )
+     * </pre>
+     * @param key 保存的 key
+     * @return 索引数据
+     */
+    private DevCacheStore.Entry _getEntry(String key) {
+        if (TextUtils.isEmpty(key)) return null;
+        DevCacheStore.Entry entry = mStore.getEntry(key);
+        if (entry == null) return null;
+        if (_toData(entry).isDue()) {
+            if (mStore.remove(key, entry)) _removeMemory(key);
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * 读取索引数据对应数据并解密
+     * @param entry 索引数据
+     * @return 保存的数据
+     */
+    private byte[] _read(DevCacheStore.Entry entry) {
+        byte[] bytes = mStore.read(entry);
         if (bytes != null && mCipher != null) {
             try {
                 bytes = mCipher.decrypt(bytes);
             } catch (Exception e) {
-                LogPrintUtils.eTag(TAG, e, "_get - decrypt");
+                LogPrintUtils.eTag(TAG, e, "_read - decrypt");
                 bytes = null;
             }
         }
         return bytes;
     }
-}
\ No newline at end of file
+
+    /**
+     * 获取 Bitmap ( 优先从内存层获取 )
+     * @param key    保存的 key
+     * @param method 调用方法名
+     * @return {@link Bitmap}
+     */
+    private Bitmap _getBitmap(
+            String key,
+            String method
+    ) {
+        DevCacheStore.Entry entry = _getEntry(key);
+        if (entry == null) return null;
+        Bitmap bitmap = _getMemory(entry, Bitmap.class);
+        if (bitmap != null) return bitmap;
+        byte[] bytes = _read(entry);
+        if (bytes != null) {
+            try {
+                bitmap = ImageUtils.decodeByteArray(bytes);
+                if (bitmap != null) {
+                    _putMemory(entry, bitmap, DevCacheMemory.sizeOf(bitmap));
+                }
+                return bitmap;
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, method);
+            }
+        }
+        return null;
+    }
+
+    // =
+
+    /**
+     * 从内存层获取数据
+     * @param entry 当前索引数据
+     * @param clazz 数据类型
+     * @param <T>   泛型
+     * @return 解码后的数据
+     */
+    private <T> T _getMemory(
+            DevCacheStore.Entry entry,
+            Class<T> clazz
+    ) {
+        DevCacheMemory memory = mMemory;
+        return (memory != null) ? memory.get(entry, clazz) : null;
+    }
+
+    /**
+     * 保存数据到内存层
+     * @param entry 读取时的索引数据
+     * @param value 解码后的数据
+     * @param size  占用大小
+     */
+    private void _putMemory(
+            DevCacheStore.Entry entry,
+            Object value,
+            long size
+    ) {
+        DevCacheMemory memory = mMemory;
+        if (memory != null) memory.put(entry, value, size);
+    }
+
+    /**
+     * 移除内存层数据
+     * @param key 保存的 key
+     */
+    private void _removeMemory(String key) {
+        DevCacheMemory memory = mMemory;
+        if (memory != null) memory.remove(key);
+    }
+}
@@ -0,0 +1,238 @@
+package dev.utils.app.cache;
+
+import android.graphics.Bitmap;
+import android.os.Build;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * detail: 缓存内存层
+ * @author Ttt
+ * <pre>
+ *     保存解码后的数据 ( Bitmap、JSONObject、Serializable 等 ), 避免重复读取文件、解密、解码
+ *     按数据占用字节数计算大小, 超过最大内存大小时按最近最少使用 ( LRU ) 淘汰
+ *     每条数据关联读取时的索引数据, 索引数据被覆盖、移除、过期后不再命中
+ * </pre>
+ */
+final class DevCacheMemory {
+
+    // 内存数据 ( 访问顺序, 用于 LRU 淘汰 )
+    private final LinkedHashMap<String, Item> mItemMaps = new LinkedHashMap<>(16, 0.75F, true);
+    // 最大内存大小
+    private long                              mMaxSize;
+    // 当前内存大小
+    private long                              mSize;
+    // 命中次数
+    private long                              mHitCount;
+    // 未命中次数
+    private long                              mMissCount;
+    // 淘汰次数
+    private long                              mEvictionCount;
+
+    /**
+     * detail: 内存数据
+     * @author Ttt
+     */
+    private static final class Item {
+
+        // 索引数据
+        final DevCacheStore.Entry entry;
+        // 解码后的数据
+        final Object              value;
+        // 占用大小
+        final long                size;
+
+        Item(
+                final DevCacheStore.Entry entry,
+                final Object value,
+                final long size
+        ) {
+            this.entry = entry;
+            this.value = value;
+            this.size  = size;
+        }
+    }
+
+    /**
+     * 构造函数
+     * @param maxSize 最大内存大小
+     */
+    DevCacheMemory(final long maxSize) {
+        this.mMaxSize = maxSize;
+    }
+
+    // =
+
+    /**
+     * 获取数据
+     * @param entry 当前索引数据
+     * @param clazz 数据类型
+     * @param <T>   泛型
+     * @return 解码后的数据, 未命中返回 null
+     */
+    synchronized <T> T get(
+            final DevCacheStore.Entry entry,
+            final Class<T> clazz
+    ) {
+        Item item = mItemMaps.get(entry.key);
+        if (item != null) {
+            // 已被覆盖或 Bitmap 已被回收则移除
+            if (item.entry != entry || isRecycled(item.value)) {
+                removeItem(entry.key);
+            } else if (clazz.isInstance(item.value)) {
+                mHitCount++;
+                return clazz.cast(item.value);
+            }
+        }
+        mMissCount++;
+        return null;
+    }
+
+    /**
+     * 保存数据
+     * @param entry 读取时的索引数据
+     * @param value 解码后的数据
+     * @param size  占用大小
+     */
+    synchronized void put(
+            final DevCacheStore.Entry entry,
+            final Object value,
+            final long size
+    ) {
+        if (value == null) return;
+        // 超过最大内存大小则不保存
+        if (size > mMaxSize) {
+            removeItem(entry.key);
+            return;
+        }
+        Item old = mItemMaps.put(entry.key, new Item(entry, value, size));
+        mSize += size;
+        if (old != null) mSize -= old.size;
+        trimToSize(mMaxSize);
+    }
+
+    /**
+     * 移除数据
+     * @param key 存储 key
+     */
+    synchronized void remove(final String key) {
+        removeItem(key);
+    }
+
+    /**
+     * 清空数据
+     */
+    synchronized void clear() {
+        mItemMaps.clear();
+        mSize = 0L;
+    }
+
+    /**
+     * 设置最大内存大小
+     * @param maxSize 最大内存大小
+     */
+    synchronized void setMaxSize(final long maxSize) {
+        mMaxSize = maxSize;
+        trimToSize(maxSize);
+    }
+
+    /**
+     * 获取最大内存大小
+     * @return 最大内存大小
+     */
+    synchronized long getMaxSize() {
+        return mMaxSize;
+    }
+
+    /**
+     * 获取当前内存大小
+     * @return 当前内存大小
+     */
+    synchronized long getSize() {
+        return mSize;
+    }
+
+    /**
+     * 获取内存数据数量
+     * @return 内存数据数量
+     */
+    synchronized int getCount() {
+        return mItemMaps.size();
+    }
+
+    /**
+     * 获取命中次数
+     * @return 命中次数
+     */
+    synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * 获取未命中次数
+     * @return 未命中次数
+     */
+    synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    /**
+     * 获取淘汰次数
+     * @return 淘汰次数
+     */
+    synchronized long getEvictionCount() {
+        return mEvictionCount;
+    }
+
+    // =
+
+    /**
+     * 获取 Bitmap 占用大小
+     * @param bitmap {@link Bitmap}
+     * @return Bitmap 占用大小
+     */
+    static long sizeOf(final Bitmap bitmap) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.KITKAT) {
+            return bitmap.getAllocationByteCount();
+        }
+        return bitmap.getByteCount();
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 是否已回收 Bitmap
+     * @param value 解码后的数据
+     * @return {@code true} yes, {@code false} no
+     */
+    private static boolean isRecycled(final Object value) {
+        return value instanceof Bitmap && ((Bitmap) value).isRecycled();
+    }
+
+    /**
+     * 移除数据
+     * @param key 存储 key
+     */
+    private void removeItem(final String key) {
+        Item item = mItemMaps.remove(key);
+        if (item != null) mSize -= item.size;
+    }
+
+    /**
+     * 超过最大内存大小时淘汰最近最少使用数据
+     * @param maxSize 最大内存大小
+     */
+    private void trimToSize(final long maxSize) {
+        Iterator<Map.Entry<String, Item>> iterator = mItemMaps.entrySet().iterator();
+        while (mSize > maxSize && iterator.hasNext()) {
+            Item item = iterator.next().getValue();
+            iterator.remove();
+            mSize -= item.size;
+            mEvictionCount++;
+        }
+    }
+}
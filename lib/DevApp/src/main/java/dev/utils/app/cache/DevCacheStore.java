@@ -0,0 +1,1056 @@
+package dev.utils.app.cache;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import dev.utils.LogPrintUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.FileUtils;
+
+/**
+ * detail: 缓存日志存储
+ * @author Ttt
+ * <pre>
+ *     全部数据追加写入单个日志文件, 内存中保存 key 对应数据位置 ( 索引 )
+ *     覆盖、删除只追加记录, 无效数据超过有效数据时进行压缩 ( 重写有效数据 )
+ *     超过最大缓存大小、最大缓存数量时按最近最少使用 ( LRU ) 淘汰
+ *     <p></p>
+ *     文件格式: [magic][version] 之后为连续记录
+ *     PUT 记录: [op][crc][keyLength][key][type][saveTime][validTime][valueLength][value]
+ *     REMOVE 记录: [op][crc][keyLength][key]
+ *     crc 为 crc 之后全部字节的 CRC32, 打开时校验失败的尾部记录 ( 写入中断 ) 将被截断
+ *     <p></p>
+ *     索引快照 ( cache.index ) 保存快照时的日志长度及全部索引数据, 打开时一次映射读取
+ *     之后只需读取快照之后追加的日志记录, 无需读取整个日志文件
+ *     快照格式: [magic][version][journalLength][count] ( [keyLength][key][type][saveTime]
+ *     [validTime][position][recordLength][length] ) * count [crc]
+ *     <p></p>
+ *     线程安全: 读写操作共享读锁, 压缩、清空、保存快照等替换文件操作需独占锁
+ *     同一 key 的写入、移除通过分段 key 锁串行, 不同 key 只在追加写入时串行
+ *     读取数据不持有 key 锁 ( 旧记录在压缩前始终有效 ), 缓存数量、大小与索引在同一索引锁内更新
+ *     加锁顺序: 读写锁 -> key 锁 -> 追加锁 -> 索引锁
+ *     <p></p>
+ *     有效期数据同时按到期时间保存到过期索引, 清除过期数据时无需遍历全部索引
+ * </pre>
+ */
+final class DevCacheStore {
+
+    // 日志 TAG
+    private static final String  TAG                 = DevCacheStore.class.getSimpleName();
+    // 日志文件名
+    static final         String  JOURNAL_NAME        = "cache.journal";
+    // 文件标识
+    private static final int     MAGIC               = 0x44434A31;
+    // 文件版本
+    private static final int     VERSION             = 1;
+    // 文件头长度
+    private static final int     HEADER_LENGTH       = 8;
+    // 记录类型
+    private static final byte    OP_PUT              = 1;
+    private static final byte    OP_REMOVE           = 2;
+    // PUT 记录 key 之后固定字段长度 ( type、saveTime、validTime、valueLength )
+    private static final int     PUT_FIELDS_LENGTH   = 4 + 8 + 8 + 4;
+    // PUT 记录固定长度 ( 不含 key、value )
+    private static final int     PUT_FIXED_LENGTH    = 1 + 4 + 2 + PUT_FIELDS_LENGTH;
+    // REMOVE 记录固定长度 ( 不含 key )
+    private static final int     REMOVE_FIXED_LENGTH = 1 + 4 + 2;
+    // key 最大字节数
+    private static final int     MAX_KEY_LENGTH      = 0xFFFF;
+    // 无效数据达到该大小才进行压缩 ( 1mb )
+    private static final long    COMPACT_THRESHOLD   = 1048576L;
+    // key 编码
+    private static final Charset UTF_8               = Charset.forName("UTF-8");
+    // 索引快照文件名
+    static final         String  INDEX_NAME          = "cache.index";
+    // 索引快照文件标识
+    private static final int     INDEX_MAGIC         = 0x44434931;
+    // 索引快照文件头长度 ( magic、version、journalLength、count )
+    private static final int     INDEX_HEADER_LENGTH = 4 + 4 + 8 + 4;
+    // 索引快照每条固定长度 ( 不含 key )
+    private static final int     INDEX_ENTRY_LENGTH  = 2 + 4 + 8 + 8 + 8 + 4 + 4;
+    // 快照之后追加日志达到该大小才重新保存快照 ( 512kb )
+    private static final long    SNAPSHOT_THRESHOLD  = 524288L;
+    // key 锁数量 ( 2 的幂 )
+    private static final int     STRIPE_COUNT        = 32;
+
+    // 按到期时间排序 ( 相同则按 key 排序, 同一 key 只有一条索引数据 )
+    private static final Comparator<Entry> DUE_COMPARATOR = (e1, e2) -> {
+        int result = Long.compare(e1.getDueTime(), e2.getDueTime());
+        return (result != 0) ? result : e1.key.compareTo(e2.key);
+    };
+
+    // 缓存地址
+    private final String                       mCachePath;
+    // 日志文件
+    private final File                         mJournalFile;
+    // 索引快照文件
+    private final File                         mIndexFile;
+    // 索引 ( 访问顺序, 用于 LRU 淘汰, 同时作为索引锁 )
+    private final LinkedHashMap<String, Entry> mIndexMaps  = new LinkedHashMap<>(16, 0.75F, true);
+    // 过期索引 ( 按到期时间排序, 只包含有有效期的数据, 索引锁 )
+    private final TreeSet<Entry>               mDueSets    = new TreeSet<>(DUE_COMPARATOR);
+    // 读写锁 ( 替换文件时独占 )
+    private final ReentrantReadWriteLock       mLock       = new ReentrantReadWriteLock();
+    // 分段 key 锁
+    private final Object[]                     mStripes    = new Object[STRIPE_COUNT];
+    // 追加写入锁
+    private final Object                       mAppendLock = new Object();
+    // 日志文件
+    private RandomAccessFile                   mFile;
+    // 日志文件通道
+    private volatile FileChannel               mChannel;
+    // 日志文件长度
+    private volatile long                      mLength;
+    // 日志版本 ( 压缩、清空、重新打开时递增, 独占锁 )
+    private int                                mGeneration;
+    // 有效记录总长度 ( 索引锁 )
+    private long                               mLiveLength;
+    // 有效数据总大小 ( 索引锁 )
+    private long                               mSize;
+    // 最大缓存大小
+    private volatile long                      mMaxSize    = Long.MAX_VALUE;
+    // 最大缓存数量
+    private volatile int                       mMaxCount   = Integer.MAX_VALUE;
+    // 保存快照时日志文件长度
+    private volatile long                      mSnapshotLength;
+    // 快照文件大小
+    private volatile long                      mSnapshotSize;
+
+    /**
+     * detail: 索引数据
+     * @author Ttt
+     */
+    static final class Entry {
+
+        // 存储 key
+        final String key;
+        // 存储类型
+        final int    type;
+        // 保存时间 ( 毫秒 )
+        final long   saveTime;
+        // 有效期 ( 毫秒 )
+        final long   validTime;
+        // 记录开始位置 ( 压缩时在独占锁内更新 )
+        long         position;
+        // 记录长度
+        final int    recordLength;
+        // 数据长度
+        final int    length;
+        // 记录所属日志版本 ( 压缩时在独占锁内更新 )
+        int          generation;
+
+        Entry(
+                final String key,
+                final int type,
+                final long saveTime,
+                final long validTime,
+                final long position,
+                final int recordLength,
+                final int length,
+                final int generation
+        ) {
+            this.key          = key;
+            this.type         = type;
+            this.saveTime     = saveTime;
+            this.validTime    = validTime;
+            this.position     = position;
+            this.recordLength = recordLength;
+            this.length       = length;
+            this.generation   = generation;
+        }
+
+        /**
+         * 获取数据开始位置
+         * @return 数据开始位置
+         */
+        long getValuePosition() {
+            return position + recordLength - length;
+        }
+
+        /**
+         * 获取到期时间
+         * @return 到期时间 ( 毫秒 )
+         */
+        long getDueTime() {
+            long dueTime = saveTime + validTime;
+            // 有效期过大溢出视为永不过期
+            return (dueTime < saveTime) ? Long.MAX_VALUE : dueTime;
+        }
+    }
+
+    /**
+     * 构造函数
+     * @param cachePath 缓存地址
+     */
+    DevCacheStore(final String cachePath) {
+        this.mCachePath   = cachePath;
+        this.mJournalFile = FileUtils.getFile(cachePath, JOURNAL_NAME);
+        this.mIndexFile   = FileUtils.getFile(cachePath, INDEX_NAME);
+        for (int i = 0; i < STRIPE_COUNT; i++) {
+            mStripes[i] = new Object();
+        }
+        open();
+    }
+
+    // ==========
+    // = 数据操作 =
+    // ==========
+
+    /**
+     * 保存数据
+     * @param key       存储 key
+     * @param type      存储类型
+     * @param bytes     存储数据
+     * @param saveTime  保存时间 ( 毫秒 )
+     * @param validTime 有效期 ( 毫秒 )
+     * @return {@code true} success, {@code false} fail
+     */
+    boolean put(
+            final String key,
+            final int type,
+            final byte[] bytes,
+            final long saveTime,
+            final long validTime
+    ) {
+        if (key == null || bytes == null) return false;
+        byte[] keyBytes = key.getBytes(UTF_8);
+        if (keyBytes.length > MAX_KEY_LENGTH) return false;
+        // 锁外拼接记录
+        int        recordLength = PUT_FIXED_LENGTH + keyBytes.length + bytes.length;
+        ByteBuffer buffer       = ByteBuffer.allocate(recordLength);
+        buffer.put(OP_PUT).putInt(0).putShort((short) keyBytes.length).put(keyBytes)
+                .putInt(type).putLong(saveTime).putLong(validTime)
+                .putInt(bytes.length).put(bytes);
+        long position = -1L;
+        mLock.readLock().lock();
+        try {
+            if (mChannel == null) return false;
+            // 同一 key 追加顺序与索引更新顺序一致
+            synchronized (stripe(key)) {
+                position = append(buffer);
+                if (position < 0L) return false;
+                Entry entry = new Entry(
+                        key, type, saveTime, validTime, position, recordLength, bytes.length, mGeneration
+                );
+                synchronized (mIndexMaps) {
+                    putEntry(entry);
+                }
+            }
+        } finally {
+            mLock.readLock().unlock();
+            // 写入失败可能为通道被中断关闭
+            if (position < 0L) maintain();
+        }
+        trimToSize();
+        maintain();
+        return true;
+    }
+
+    /**
+     * 获取数据
+     * @param key 存储 key
+     * @return 存储数据
+     */
+    byte[] get(final String key) {
+        Entry entry = getEntry(key);
+        return (entry != null) ? read(entry) : null;
+    }
+
+    /**
+     * 读取索引数据对应数据
+     * <pre>
+     *     已被覆盖、移除的旧记录在压缩前仍可读取 ( 压缩需独占锁 ), 无需持有 key 锁
+     * </pre>
+     * @param entry {@link Entry}
+     * @return 存储数据, 记录已不存在返回 null
+     */
+    byte[] read(final Entry entry) {
+        boolean truncated = false;
+        mLock.readLock().lock();
+        try {
+            if (mChannel == null || entry.generation != mGeneration) return null;
+            if (entry.position + entry.recordLength <= mLength) {
+                ByteBuffer buffer = ByteBuffer.allocate(entry.length);
+                readFully(buffer, entry.getValuePosition());
+                return buffer.array();
+            }
+            truncated = true;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "read");
+        } finally {
+            mLock.readLock().unlock();
+        }
+        if (truncated) {
+            // 快照与日志不一致 ( 日志被外部截断 ) 则移除索引
+            remove(entry.key, entry);
+        } else {
+            // 读取线程被中断会关闭通道, 需重新打开
+            maintain();
+        }
+        return null;
+    }
+
+    /**
+     * 获取索引数据
+     * @param key 存储 key
+     * @return {@link Entry}
+     */
+    Entry getEntry(final String key) {
+        synchronized (mIndexMaps) {
+            return mIndexMaps.get(key);
+        }
+    }
+
+    /**
+     * 移除数据
+     * @param key 存储 key
+     * @return {@code true} success, {@code false} fail
+     */
+    boolean remove(final String key) {
+        return remove(key, null);
+    }
+
+    /**
+     * 移除数据 ( 当前索引数据为指定数据才移除 )
+     * @param key      存储 key
+     * @param expected 期望索引数据 ( 为 null 则不校验 )
+     * @return {@code true} success, {@code false} fail
+     */
+    boolean remove(
+            final String key,
+            final Entry expected
+    ) {
+        if (key == null) return false;
+        long position = 0L;
+        mLock.readLock().lock();
+        try {
+            if (mChannel == null) return false;
+            synchronized (stripe(key)) {
+                Entry entry;
+                synchronized (mIndexMaps) {
+                    entry = mIndexMaps.get(key);
+                }
+                // 期间已被覆盖、移除则不处理
+                if (entry == null || (expected != null && entry != expected)) return false;
+                position = appendRemove(key);
+                if (position < 0L) return false;
+                synchronized (mIndexMaps) {
+                    removeEntry(entry);
+                }
+            }
+        } finally {
+            mLock.readLock().unlock();
+            // 写入失败可能为通道被中断关闭
+            if (position < 0L) maintain();
+        }
+        maintain();
+        return true;
+    }
+
+    /**
+     * 是否存在 key
+     * @param key 存储 key
+     * @return {@code true} yes, {@code false} no
+     */
+    boolean contains(final String key) {
+        synchronized (mIndexMaps) {
+            return mIndexMaps.containsKey(key);
+        }
+    }
+
+    /**
+     * 清空数据
+     */
+    void clear() {
+        mLock.writeLock().lock();
+        try {
+            if (mChannel == null) return;
+            // 先删除快照, 防止快照引用已清空的日志
+            deleteIndex();
+            try {
+                mChannel.truncate(HEADER_LENGTH);
+                mLength = HEADER_LENGTH;
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "clear");
+            }
+            mGeneration++;
+            synchronized (mIndexMaps) {
+                mIndexMaps.clear();
+                mDueSets.clear();
+                mLiveLength = 0L;
+                mSize       = 0L;
+            }
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 获取全部索引数据 ( 最近最少使用在前 )
+     * @return 索引数据集合
+     */
+    List<Entry> getEntries() {
+        synchronized (mIndexMaps) {
+            return new ArrayList<>(mIndexMaps.values());
+        }
+    }
+
+    /**
+     * 获取已过期索引数据 ( 按到期时间排序 )
+     * @param now      当前时间 ( 毫秒 )
+     * @param maxCount 最大获取数量
+     * @return 索引数据集合
+     */
+    List<Entry> getDueEntries(
+            final long now,
+            final int maxCount
+    ) {
+        List<Entry> entries = new ArrayList<>();
+        synchronized (mIndexMaps) {
+            for (Entry entry : mDueSets) {
+                if (entry.getDueTime() > now || entries.size() >= maxCount) break;
+                entries.add(entry);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * 获取下一个到期时间
+     * @return 到期时间 ( 毫秒 ), 无有效期数据返回 -1
+     */
+    long getNextDueTime() {
+        synchronized (mIndexMaps) {
+            return mDueSets.isEmpty() ? -1L : mDueSets.first().getDueTime();
+        }
+    }
+
+    /**
+     * 获取缓存数量
+     * @return 缓存数量
+     */
+    int getCount() {
+        synchronized (mIndexMaps) {
+            return mIndexMaps.size();
+        }
+    }
+
+    /**
+     * 获取缓存大小
+     * @return 缓存大小
+     */
+    long getSize() {
+        synchronized (mIndexMaps) {
+            return mSize;
+        }
+    }
+
+    /**
+     * 获取缓存地址
+     * @return 缓存地址
+     */
+    String getCachePath() {
+        return mCachePath;
+    }
+
+    // ==========
+    // = 容量限制 =
+    // ==========
+
+    /**
+     * 设置最大缓存大小
+     * @param maxSize 最大缓存大小 ( 小于等于 0 则不限制 )
+     */
+    void setMaxSize(final long maxSize) {
+        mMaxSize = maxSize > 0L ? maxSize : Long.MAX_VALUE;
+        trimToSize();
+        maintain();
+    }
+
+    /**
+     * 设置最大缓存数量
+     * @param maxCount 最大缓存数量 ( 小于等于 0 则不限制 )
+     */
+    void setMaxCount(final int maxCount) {
+        mMaxCount = maxCount > 0 ? maxCount : Integer.MAX_VALUE;
+        trimToSize();
+        maintain();
+    }
+
+    /**
+     * 压缩日志文件 ( 只保留有效数据 )
+     * @return {@code true} success, {@code false} fail
+     */
+    boolean compact() {
+        mLock.writeLock().lock();
+        try {
+            return compactLocked();
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 打开日志文件并读取索引
+     */
+    private void open() {
+        closeFile();
+        mGeneration++;
+        synchronized (mIndexMaps) {
+            clearIndex();
+            openFile();
+        }
+    }
+
+    /**
+     * 打开日志文件并读取索引 ( 需持有索引锁 )
+     */
+    private void openFile() {
+        try {
+            FileUtils.createFolder(mCachePath);
+            mFile    = new RandomAccessFile(mJournalFile, "rw");
+            mChannel = mFile.getChannel();
+            if (mChannel.size() < HEADER_LENGTH || !checkHeader()) {
+                deleteIndex();
+                mChannel.truncate(0L);
+                writeHeader(mChannel);
+                mLength = HEADER_LENGTH;
+            } else {
+                // 读取快照后只需读取快照之后追加的记录
+                mLength = readJournal(loadIndex());
+                // 截断写入中断的尾部记录
+                if (mChannel.size() > mLength) mChannel.truncate(mLength);
+                // 快照不存在或追加记录过多则重新保存快照
+                saveIndexIfNeeded();
+            }
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "open");
+            closeFile();
+        }
+    }
+
+    /**
+     * 重新打开日志文件 ( 通道被中断关闭 )
+     * <pre>
+     *     当前线程可能为被中断线程, 打开期间清除中断状态
+     * </pre>
+     */
+    private void reopen() {
+        boolean interrupted = Thread.interrupted();
+        try {
+            open();
+        } finally {
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 关闭日志文件
+     */
+    private void closeFile() {
+        CloseUtils.closeIOQuietly(mChannel, mFile);
+        mChannel = null;
+        mFile    = null;
+    }
+
+    /**
+     * 校验文件头
+     * @return {@code true} success, {@code false} fail
+     * @throws Exception 读取失败
+     */
+    private boolean checkHeader()
+            throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH);
+        readFully(buffer, 0L);
+        buffer.flip();
+        return buffer.getInt() == MAGIC && buffer.getInt() == VERSION;
+    }
+
+    /**
+     * 写入文件头
+     * @param channel 文件通道
+     * @throws Exception 写入失败
+     */
+    private static void writeHeader(final FileChannel channel)
+            throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH);
+        buffer.putInt(MAGIC).putInt(VERSION).flip();
+        long position = 0L;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    /**
+     * 读取记录创建索引
+     * @param start 开始位置
+     * @return 有效记录结束位置
+     */
+    private long readJournal(final long start) {
+        long            position = start;
+        DataInputStream dis      = null;
+        try {
+            FileInputStream fis = new FileInputStream(mJournalFile);
+            fis.getChannel().position(start);
+            dis = new DataInputStream(new BufferedInputStream(fis, 65536));
+            CRC32  crc32  = new CRC32();
+            byte[] buffer = new byte[PUT_FIXED_LENGTH];
+            while (true) {
+                byte op;
+                try {
+                    op = dis.readByte();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (op != OP_PUT && op != OP_REMOVE) break;
+                int crc       = dis.readInt();
+                int keyLength = dis.readUnsignedShort();
+                int dataLength;
+                int recordLength;
+                if (op == OP_PUT) {
+                    // 先读取 key 及固定字段, 再按 valueLength 读取数据
+                    int headLength = keyLength + PUT_FIELDS_LENGTH;
+                    if (buffer.length < headLength) buffer = new byte[headLength];
+                    dis.readFully(buffer, 0, headLength);
+                    int valueLength = ByteBuffer.wrap(buffer, headLength - 4, 4).getInt();
+                    if (valueLength < 0) break;
+                    dataLength = headLength + valueLength;
+                    if (buffer.length < dataLength) buffer = Arrays.copyOf(buffer, dataLength);
+                    dis.readFully(buffer, headLength, valueLength);
+                    recordLength = PUT_FIXED_LENGTH + keyLength + valueLength;
+                } else {
+                    dataLength   = keyLength;
+                    recordLength = REMOVE_FIXED_LENGTH + keyLength;
+                    if (buffer.length < dataLength) buffer = new byte[dataLength];
+                    dis.readFully(buffer, 0, dataLength);
+                }
+                crc32.reset();
+                crc32.update((byte) (keyLength >>> 8));
+                crc32.update((byte) keyLength);
+                crc32.update(buffer, 0, dataLength);
+                if ((int) crc32.getValue() != crc) break;
+
+                String key = new String(buffer, 0, keyLength, UTF_8);
+                if (op == OP_PUT) {
+                    ByteBuffer fields    = ByteBuffer.wrap(buffer, keyLength, PUT_FIELDS_LENGTH);
+                    int        type      = fields.getInt();
+                    long       saveTime  = fields.getLong();
+                    long       validTime = fields.getLong();
+                    int        length    = fields.getInt();
+                    putEntry(new Entry(
+                            key, type, saveTime, validTime, position, recordLength, length, mGeneration
+                    ));
+                } else {
+                    Entry old = mIndexMaps.get(key);
+                    if (old != null) removeEntry(old);
+                }
+                position += recordLength;
+            }
+        } catch (EOFException ignore) {
+            // 写入中断的尾部记录
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "readJournal");
+        } finally {
+            CloseUtils.closeIOQuietly(dis);
+        }
+        return position;
+    }
+
+    /**
+     * 追加记录 ( 计算 CRC 并一次写入 )
+     * <pre>
+     *     只有追加写入串行执行, CRC 计算在锁外进行
+     * </pre>
+     * @param buffer 记录数据
+     * @return 记录开始位置, 写入失败返回 -1
+     */
+    private long append(final ByteBuffer buffer) {
+        byte[] array = buffer.array();
+        CRC32  crc32 = new CRC32();
+        crc32.update(array, 5, array.length - 5);
+        buffer.putInt(1, (int) crc32.getValue());
+        buffer.flip();
+        synchronized (mAppendLock) {
+            long start = mLength;
+            try {
+                long position = start;
+                while (buffer.hasRemaining()) {
+                    position += mChannel.write(buffer, position);
+                }
+                mLength = position;
+                return start;
+            } catch (Exception e) {
+                LogPrintUtils.eTag(TAG, e, "append");
+                // 写入失败丢弃未完成记录
+                try {
+                    mChannel.truncate(start);
+                } catch (Exception ignore) {
+                }
+                return -1L;
+            }
+        }
+    }
+
+    /**
+     * 追加移除记录
+     * @param key 存储 key
+     * @return 记录开始位置, 写入失败返回 -1
+     */
+    private long appendRemove(final String key) {
+        byte[]     keyBytes = key.getBytes(UTF_8);
+        ByteBuffer buffer   = ByteBuffer.allocate(REMOVE_FIXED_LENGTH + keyBytes.length);
+        buffer.put(OP_REMOVE).putInt(0).putShort((short) keyBytes.length).put(keyBytes);
+        return append(buffer);
+    }
+
+    /**
+     * 清空索引数据
+     */
+    private void clearIndex() {
+        mIndexMaps.clear();
+        mDueSets.clear();
+        mLiveLength     = 0L;
+        mSize           = 0L;
+        mSnapshotLength = HEADER_LENGTH;
+        mSnapshotSize   = 0L;
+    }
+
+    /**
+     * 读取索引快照
+     * @return 需继续读取的日志开始位置 ( 快照不可用则为日志开头 )
+     */
+    private long loadIndex() {
+        if (!mIndexFile.isFile()) return HEADER_LENGTH;
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(mIndexFile, "r");
+            FileChannel channel = raf.getChannel();
+            long        size    = channel.size();
+            if (size < INDEX_HEADER_LENGTH + 4 || size > Integer.MAX_VALUE) {
+                throw new IllegalStateException("index size " + size);
+            }
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, size);
+            // 校验 CRC
+            byte[] bytes = new byte[(int) size - 4];
+            buffer.get(bytes);
+            CRC32 crc32 = new CRC32();
+            crc32.update(bytes, 0, bytes.length);
+            if ((int) crc32.getValue() != buffer.getInt()) {
+                throw new IllegalStateException("index crc");
+            }
+            ByteBuffer data = ByteBuffer.wrap(bytes);
+            if (data.getInt() != INDEX_MAGIC || data.getInt() != VERSION) {
+                throw new IllegalStateException("index header");
+            }
+            long journalLength = data.getLong();
+            int  count         = data.getInt();
+            if (journalLength < HEADER_LENGTH || journalLength > mChannel.size()) {
+                throw new IllegalStateException("index journal length");
+            }
+            for (int i = 0; i < count; i++) {
+                byte[] keyBytes = new byte[data.getShort() & 0xFFFF];
+                data.get(keyBytes);
+                String key   = new String(keyBytes, UTF_8);
+                Entry  entry = new Entry(
+                        key, data.getInt(), data.getLong(), data.getLong(),
+                        data.getLong(), data.getInt(), data.getInt(), mGeneration
+                );
+                putEntry(entry);
+            }
+            mSnapshotLength = journalLength;
+            mSnapshotSize   = size;
+            return journalLength;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "loadIndex");
+            clearIndex();
+            return HEADER_LENGTH;
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+    }
+
+    /**
+     * 保存索引快照 ( 写入临时文件后重命名 )
+     */
+    private void saveIndex() {
+        List<Entry>  entries = getEntries();
+        List<byte[]> keys    = new ArrayList<>(entries.size());
+        long         length  = INDEX_HEADER_LENGTH + 4;
+        for (Entry entry : entries) {
+            byte[] keyBytes = entry.key.getBytes(UTF_8);
+            keys.add(keyBytes);
+            length += INDEX_ENTRY_LENGTH + keyBytes.length;
+        }
+        if (length > Integer.MAX_VALUE) return;
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        buffer.putInt(INDEX_MAGIC).putInt(VERSION).putLong(mLength).putInt(entries.size());
+        int index = 0;
+        // 按访问顺序保存, 保留 LRU 顺序
+        for (Entry entry : entries) {
+            byte[] keyBytes = keys.get(index++);
+            buffer.putShort((short) keyBytes.length).put(keyBytes)
+                    .putInt(entry.type).putLong(entry.saveTime).putLong(entry.validTime)
+                    .putLong(entry.position).putInt(entry.recordLength).putInt(entry.length);
+        }
+        CRC32 crc32 = new CRC32();
+        crc32.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc32.getValue());
+        buffer.flip();
+
+        File             tempFile = new File(mIndexFile.getPath() + ".tmp");
+        RandomAccessFile raf      = null;
+        try {
+            raf = new RandomAccessFile(tempFile, "rw");
+            raf.setLength(0L);
+            FileChannel channel = raf.getChannel();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            CloseUtils.closeIOQuietly(raf);
+            raf = null;
+            if (!tempFile.renameTo(mIndexFile)) {
+                throw new IllegalStateException("rename failed");
+            }
+            mSnapshotLength = mLength;
+            mSnapshotSize   = length;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "saveIndex");
+            CloseUtils.closeIOQuietly(raf);
+            FileUtils.deleteFile(tempFile);
+        }
+    }
+
+    /**
+     * 快照之后追加日志过多时重新保存快照
+     * <pre>
+     *     追加日志超过快照文件大小才保存, 保存快照耗时与打开时读取追加日志耗时相当
+     * </pre>
+     */
+    private void saveIndexIfNeeded() {
+        if (needsSnapshot()) saveIndex();
+    }
+
+    /**
+     * 是否需要重新保存快照
+     * @return {@code true} yes, {@code false} no
+     */
+    private boolean needsSnapshot() {
+        long tail = mLength - mSnapshotLength;
+        return tail >= SNAPSHOT_THRESHOLD && tail >= mSnapshotSize;
+    }
+
+    /**
+     * 删除索引快照
+     */
+    private void deleteIndex() {
+        FileUtils.deleteFile(mIndexFile);
+        mSnapshotLength = HEADER_LENGTH;
+        mSnapshotSize   = 0L;
+    }
+
+    /**
+     * 添加索引数据 ( 需持有索引锁 )
+     * @param entry {@link Entry}
+     */
+    private void putEntry(final Entry entry) {
+        Entry old = mIndexMaps.put(entry.key, entry);
+        if (old != null) {
+            mLiveLength -= old.recordLength;
+            mSize -= old.length;
+            // 先移除旧数据, 到期时间相同时不影响新数据加入
+            if (old.validTime > 0L) mDueSets.remove(old);
+        }
+        mLiveLength += entry.recordLength;
+        mSize += entry.length;
+        if (entry.validTime > 0L) mDueSets.add(entry);
+    }
+
+    /**
+     * 移除索引数据 ( 需持有索引锁 )
+     * @param entry {@link Entry}
+     */
+    private void removeEntry(final Entry entry) {
+        mIndexMaps.remove(entry.key);
+        mLiveLength -= entry.recordLength;
+        mSize -= entry.length;
+        if (entry.validTime > 0L) mDueSets.remove(entry);
+    }
+
+    /**
+     * 获取 key 锁
+     * @param key 存储 key
+     * @return key 锁
+     */
+    private Object stripe(final String key) {
+        int hash = key.hashCode();
+        return mStripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+    }
+
+    /**
+     * 读取指定位置数据
+     * @param buffer   {@link ByteBuffer}
+     * @param position 开始位置
+     * @throws Exception 读取失败
+     */
+    private void readFully(
+            final ByteBuffer buffer,
+            final long position
+    )
+            throws Exception {
+        long offset = position;
+        while (buffer.hasRemaining()) {
+            int read = mChannel.read(buffer, offset);
+            if (read < 0) throw new EOFException();
+            offset += read;
+        }
+    }
+
+    /**
+     * 超过最大缓存大小、数量时淘汰最近最少使用数据
+     * <pre>
+     *     每次只持有一个 key 锁, 已被其他线程覆盖、移除的数据重新选取
+     * </pre>
+     */
+    private void trimToSize() {
+        mLock.readLock().lock();
+        try {
+            if (mChannel == null) return;
+            while (true) {
+                Entry eldest;
+                synchronized (mIndexMaps) {
+                    if (mSize <= mMaxSize && mIndexMaps.size() <= mMaxCount) return;
+                    eldest = mIndexMaps.values().iterator().next();
+                }
+                synchronized (stripe(eldest.key)) {
+                    synchronized (mIndexMaps) {
+                        if (mIndexMaps.get(eldest.key) != eldest) continue;
+                    }
+                    if (appendRemove(eldest.key) < 0L) return;
+                    synchronized (mIndexMaps) {
+                        removeEntry(eldest);
+                    }
+                }
+            }
+        } finally {
+            mLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 是否需要压缩 ( 无效数据超过有效数据且达到阈值 )
+     * @return {@code true} yes, {@code false} no
+     */
+    private boolean needsCompact() {
+        long liveLength;
+        synchronized (mIndexMaps) {
+            liveLength = mLiveLength;
+        }
+        long garbage = mLength - HEADER_LENGTH - liveLength;
+        return garbage >= COMPACT_THRESHOLD && garbage >= liveLength;
+    }
+
+    /**
+     * 写入后维护 ( 通道被关闭则重新打开、压缩、保存快照 )
+     * <pre>
+     *     需独占锁, 持有读锁时不可调用
+     * </pre>
+     */
+    private void maintain() {
+        FileChannel channel = mChannel;
+        boolean     closed  = channel != null && !channel.isOpen();
+        if (!closed && !needsCompact() && !needsSnapshot()) return;
+        mLock.writeLock().lock();
+        try {
+            // 读取、写入线程被中断时通道会被关闭
+            if (mChannel != null && !mChannel.isOpen()) reopen();
+            if (mChannel == null) return;
+            if (needsCompact()) {
+                compactLocked();
+            } else {
+                saveIndexIfNeeded();
+            }
+        } finally {
+            mLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 压缩日志文件 ( 需持有独占锁 )
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean compactLocked() {
+        if (mChannel == null) return false;
+        File             tempFile = new File(mJournalFile.getPath() + ".tmp");
+        RandomAccessFile tempRaf  = null;
+        try {
+            tempRaf = new RandomAccessFile(tempFile, "rw");
+            tempRaf.setLength(0L);
+            FileChannel tempChannel = tempRaf.getChannel();
+            writeHeader(tempChannel);
+            tempChannel.position(HEADER_LENGTH);
+            // 独占锁下索引不会增删, 只有访问顺序可能变化
+            List<Entry> entries   = getEntries();
+            long[]      positions = new long[entries.size()];
+            long        position  = HEADER_LENGTH;
+            // 按访问顺序重写, 保留 LRU 顺序
+            for (int i = 0, len = entries.size(); i < len; i++) {
+                Entry entry = entries.get(i);
+                long  count = 0L;
+                while (count < entry.recordLength) {
+                    count += mChannel.transferTo(
+                            entry.position + count, entry.recordLength - count, tempChannel
+                    );
+                }
+                positions[i] = position;
+                position += entry.recordLength;
+            }
+            tempChannel.force(false);
+            CloseUtils.closeIOQuietly(tempRaf);
+            tempRaf = null;
+            // 先删除快照, 防止快照引用压缩前的记录位置
+            deleteIndex();
+            closeFile();
+            if (!tempFile.renameTo(mJournalFile)) {
+                throw new IllegalStateException("rename failed");
+            }
+            mFile    = new RandomAccessFile(mJournalFile, "rw");
+            mChannel = mFile.getChannel();
+            mLength  = position;
+            mGeneration++;
+            // 更新原索引数据记录位置 ( 保持索引数据实例不变, 已被覆盖、移除的索引数据失效 )
+            for (int i = 0, len = entries.size(); i < len; i++) {
+                Entry entry = entries.get(i);
+                entry.position   = positions[i];
+                entry.generation = mGeneration;
+            }
+            saveIndex();
+            return true;
+        } catch (Exception e) {
+            LogPrintUtils.eTag(TAG, e, "compact");
+            CloseUtils.closeIOQuietly(tempRaf);
+            FileUtils.deleteFile(tempFile);
+            // 压缩失败重新打开原文件
+            if (mChannel == null || !mChannel.isOpen()) open();
+            return false;
+        }
+    }
+}
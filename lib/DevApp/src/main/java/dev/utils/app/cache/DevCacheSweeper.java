@@ -0,0 +1,122 @@
+package dev.utils.app.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import dev.utils.LogPrintUtils;
+
+/**
+ * detail: 缓存过期数据定时清除
+ * @author Ttt
+ * <pre>
+ *     全部 {@link DevCache} 实例共用一个定时线程, 每次按到期时间顺序移除各缓存过期数据
+ *     每次每个缓存最多移除 maxCount 条 ( 每条移除写入一条日志记录 ), 剩余过期数据下次继续移除
+ *     定时线程空闲 60 秒后回收
+ * </pre>
+ */
+final class DevCacheSweeper {
+
+    private DevCacheSweeper() {
+    }
+
+    // 日志 TAG
+    private static final String TAG                = DevCacheSweeper.class.getSimpleName();
+    // 默认清除间隔 ( 毫秒 )
+    static final         long   DEFAULT_INTERVAL   = 60000L;
+    // 默认每次每个缓存最多移除数量
+    static final         int    DEFAULT_MAX_COUNT  = 100;
+    // 空闲定时线程存活时间 ( 秒 )
+    private static final long   KEEP_ALIVE_SECONDS = 60L;
+
+    // 定时器 ( 延迟初始化 )
+    private static ScheduledThreadPoolExecutor sExecutor;
+    // 定时清除任务
+    private static ScheduledFuture<?>          sFuture;
+
+    // =
+
+    /**
+     * 开启定时清除 ( 已开启则按新配置重新开启 )
+     * @param interval 清除间隔 ( 毫秒 )
+     * @param maxCount 每次每个缓存最多移除数量
+     */
+    static synchronized void start(
+            final long interval,
+            final int maxCount
+    ) {
+        stop();
+        if (sExecutor == null) sExecutor = create();
+        final long period = Math.max(1L, interval);
+        final int  count  = Math.max(1, maxCount);
+        sFuture = sExecutor.scheduleWithFixedDelay(
+                () -> sweep(count), period, period, TimeUnit.MILLISECONDS
+        );
+    }
+
+    /**
+     * 关闭定时清除
+     */
+    static synchronized void stop() {
+        if (sFuture != null) {
+            sFuture.cancel(false);
+            sFuture = null;
+            // 移除已取消任务, 定时线程空闲后回收
+            sExecutor.purge();
+        }
+    }
+
+    /**
+     * 是否已开启定时清除
+     * @return {@code true} yes, {@code false} no
+     */
+    static synchronized boolean isRunning() {
+        return sFuture != null;
+    }
+
+    /**
+     * 移除全部缓存过期数据
+     * @param maxCount 每个缓存最多移除数量
+     * @return 移除数量
+     */
+    static int sweep(final int maxCount) {
+        List<DevCache> caches = new ArrayList<>();
+        synchronized (DevCacheManager.sInstanceMaps) {
+            for (DevCache cache : DevCacheManager.sInstanceMaps.values()) {
+                // 默认缓存同时以 "" 及地址保存
+                if (!caches.contains(cache)) caches.add(cache);
+            }
+        }
+        int count = 0;
+        for (DevCache cache : caches) {
+            try {
+                count += cache.sweepDue(maxCount);
+            } catch (Exception e) {
+                // 异常会终止定时任务, 需捕获
+                LogPrintUtils.eTag(TAG, e, "sweep");
+            }
+        }
+        return count;
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 创建定时器
+     * @return {@link ScheduledThreadPoolExecutor}
+     */
+    private static ScheduledThreadPoolExecutor create() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, TAG);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -6,7 +6,6 @@ import java.io.BufferedReader;
 import java.io.File;
 import java.io.FileFilter;
 import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
@@ -22,6 +21,9 @@ import java.util.List;
 import dev.utils.DevFinal;
 import dev.utils.JCLogUtils;
 import dev.utils.common.encrypt.MD5Utils;
+import dev.utils.common.file.FileCopyUtils;
+import dev.utils.common.file.FileLengthUtils;
+import dev.utils.common.file.FileLineCounter;
 
 /**
  * detail: 文件操作工具类
@@ -766,36 +768,18 @@ public final class FileUtils {
 
     /**
      * 获取文件行数 ( 比 readLine 要快很多 )
+     * <pre>
+     *     内存映射并行统计, 支持 \n、\r\n、\r 换行文件, 返回换行符数量 + 1
+     *     与 readLine 一致的行数、行开始字节位置可使用 {@link FileLineCounter#count(File, int, int)}
+     * </pre>
      * @param file 文件
      * @return 文件行数
      */
     public static int getFileLines(final File file) {
         if (!isFileExists(file)) return 0;
-        int         lineCount = 1;
-        InputStream is        = null;
-        try {
-            is = new BufferedInputStream(new FileInputStream(file));
-            byte[] buffer = new byte[1024];
-            int    readChars;
-            if (DevFinal.SYMBOL.NEW_LINE.endsWith("\n")) {
-                while ((readChars = is.read(buffer, 0, 1024)) != -1) {
-                    for (int i = 0; i < readChars; ++i) {
-                        if (buffer[i] == '\n') ++lineCount;
-                    }
-                }
-            } else {
-                while ((readChars = is.read(buffer, 0, 1024)) != -1) {
-                    for (int i = 0; i < readChars; ++i) {
-                        if (buffer[i] == '\r') ++lineCount;
-                    }
-                }
-            }
-        } catch (Exception e) {
-            JCLogUtils.eTag(TAG, e, "getFileLines");
-        } finally {
-            CloseUtils.closeIOQuietly(is);
-        }
-        return lineCount;
+        FileLineCounter.Result result = FileLineCounter.count(file);
+        if (result == null) return 0;
+        return (int) Math.min(Integer.MAX_VALUE, result.getTerminatorCount() + 1);
     }
 
     // =
@@ -836,6 +820,37 @@ public final class FileUtils {
         return formatByteMemorySize(getDirLength(dir));
     }
 
+    /**
+     * 获取目录大小 ( 并行计算 )
+     * @param dirPath 目录路径
+     * @return 文件大小
+     */
+    public static String getDirSizeParallel(final String dirPath) {
+        return getDirSizeParallel(getFileByPath(dirPath));
+    }
+
+    /**
+     * 获取目录大小 ( 并行计算 )
+     * @param dir 目录
+     * @return 文件大小
+     */
+    public static String getDirSizeParallel(final File dir) {
+        return formatByteMemorySize(getDirLengthParallel(dir));
+    }
+
+    /**
+     * 获取目录大小 ( 并行计算 + 缓存 )
+     * @param dir   目录
+     * @param cache 目录大小缓存
+     * @return 文件大小
+     */
+    public static String getDirSizeParallel(
+            final File dir,
+            final FileLengthUtils.DirLengthCache cache
+    ) {
+        return formatByteMemorySize(getDirLengthParallel(dir, cache));
+    }
+
     /**
      * 获取文件大小
      * @param filePath 文件路径
@@ -884,6 +899,37 @@ public final class FileUtils {
         return len;
     }
 
+    /**
+     * 获取目录全部文件大小 ( 并行计算 )
+     * @param dirPath 目录路径
+     * @return 目录全部文件大小
+     */
+    public static long getDirLengthParallel(final String dirPath) {
+        return getDirLengthParallel(getFileByPath(dirPath));
+    }
+
+    /**
+     * 获取目录全部文件大小 ( 并行计算 )
+     * @param dir 目录
+     * @return 目录全部文件大小
+     */
+    public static long getDirLengthParallel(final File dir) {
+        return FileLengthUtils.getDirLength(dir);
+    }
+
+    /**
+     * 获取目录全部文件大小 ( 并行计算 + 缓存 )
+     * @param dir   目录
+     * @param cache 目录大小缓存
+     * @return 目录全部文件大小
+     */
+    public static long getDirLengthParallel(
+            final File dir,
+            final FileLengthUtils.DirLengthCache cache
+    ) {
+        return FileLengthUtils.getDirLength(dir, cache);
+    }
+
     /**
      * 获取文件大小 ( 网络资源 )
      * @param httpUri 文件网络链接
@@ -1720,14 +1766,32 @@ public final class FileUtils {
         }
         // 目标目录不存在返回 false
         if (!createOrExistsDir(destFile.getParentFile())) return false;
-        try {
-            return FileIOUtils.writeFileFromIS(
-                    destFile, new FileInputStream(srcFile), false
-            ) && !(isMove && !deleteFile(srcFile));
-        } catch (FileNotFoundException e) {
-            JCLogUtils.eTag(TAG, e, "copyOrMoveFile");
-            return false;
-        }
+        // 同一文件系统直接重命名
+        if (isMove && FileCopyUtils.rename(srcFile, destFile)) return true;
+        return FileCopyUtils.copyFile(srcFile, destFile)
+                && !(isMove && !deleteFile(srcFile));
+    }
+
+    /**
+     * 复制或移动目录 ( 大文件零拷贝 + 小文件并行复制 )
+     * @param srcDir           源目录
+     * @param destDir          目标目录
+     * @param listener         是否覆盖监听器
+     * @param isMove           是否移动
+     * @param progressListener 复制进度监听
+     * @return {@code true} 复制或移动成功, {@code false} 复制或移动失败
+     */
+    public static boolean copyOrMoveDirParallel(
+            final File srcDir,
+            final File destDir,
+            final OnReplaceListener listener,
+            final boolean isMove,
+            final FileCopyUtils.OnProgressListener progressListener
+    ) {
+        return FileCopyUtils.copyOrMoveDir(
+                srcDir, destDir, listener, isMove,
+                FileCopyUtils.getDefaultThreadNumber(), progressListener
+        );
     }
 
     /**
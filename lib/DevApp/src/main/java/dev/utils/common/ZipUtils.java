@@ -2,15 +2,32 @@ package dev.utils.common;
 
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Calendar;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 import java.util.zip.ZipOutputStream;
@@ -30,7 +47,19 @@ public final class ZipUtils {
     private static final String TAG = ZipUtils.class.getSimpleName();
 
     // 缓存大小
-    private static final int BUFFER_LEN = 8192;
+    private static final int     BUFFER_LEN              = 8192;
+    // 默认直接存储 ( 不压缩 ) 文件大小阈值 byte
+    public static final  long    DEFAULT_STORE_THRESHOLD = 1024L;
+    // 并行压缩内存缓存最大文件大小 ( 超过则压缩到临时文件 )
+    private static final long    MEMORY_DEFLATE_LENGTH   = 8388608L;
+    // zip 格式最大长度 ( 超过需 zip64 )
+    private static final long    ZIP_MAX_LENGTH          = 0xFFFFFFFFL;
+    // zip 格式最大条目数 ( 超过需 zip64 )
+    private static final int     ZIP_MAX_ENTRIES         = 0xFFFF;
+    // 条目名 UTF-8 编码标记
+    private static final short   FLAG_UTF8               = 0x0800;
+    // 条目名编码
+    private static final Charset UTF_8                   = Charset.forName("UTF-8");
 
     /**
      * 批量压缩文件
@@ -255,6 +284,338 @@ public final class ZipUtils {
         return true;
     }
 
+    // ============
+    // = 并行压缩 =
+    // ============
+
+    /**
+     * 获取默认并行压缩线程数
+     * @return CPU 核心数
+     */
+    public static int getDefaultThreadNumber() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 批量压缩文件 ( 并行压缩 )
+     * @param resFiles 待压缩文件集合
+     * @param zipFile  压缩文件
+     * @param comment  压缩文件的注释
+     * @return {@code true} 压缩成功, {@code false} 压缩失败
+     * @throws Exception 异常时抛出
+     */
+    public static boolean zipFilesParallel(
+            final Collection<File> resFiles,
+            final File zipFile,
+            final String comment
+    )
+            throws Exception {
+        return zipFilesParallel(
+                resFiles, zipFile, comment, getDefaultThreadNumber(), DEFAULT_STORE_THRESHOLD
+        );
+    }
+
+    /**
+     * 批量压缩文件 ( 并行压缩 )
+     * <pre>
+     *     各文件条目并行压缩 ( deflate ) 到内存缓存 ( 大文件则为临时文件 ), 再按顺序写入压缩文件
+     *     小于 storeThreshold 的文件直接存储 ( 不压缩 )
+     *     压缩后为标准 zip 格式, 可通过 {@link #unzipFile(File, File)} 解压
+     *     超出 zip 格式限制 ( 4GB、65535 个条目 ) 则使用 {@link #zipFiles(Collection, File, String)} 串行压缩
+     * </pre>
+     * @param resFiles       待压缩文件集合
+     * @param zipFile        压缩文件
+     * @param comment        压缩文件的注释
+     * @param threadNumber   并发线程数
+     * @param storeThreshold 直接存储 ( 不压缩 ) 文件大小阈值 byte
+     * @return {@code true} 压缩成功, {@code false} 压缩失败
+     * @throws Exception 异常时抛出
+     */
+    public static boolean zipFilesParallel(
+            final Collection<File> resFiles,
+            final File zipFile,
+            final String comment,
+            final int threadNumber,
+            final long storeThreshold
+    )
+            throws Exception {
+        if (resFiles == null || zipFile == null) return false;
+        // 获取全部压缩条目
+        List<ZipItem> items       = new ArrayList<>();
+        long          totalLength = 0L;
+        for (File resFile : resFiles) {
+            totalLength += collectZipItems(resFile, "", items);
+        }
+        if (totalLength >= ZIP_MAX_LENGTH || items.size() >= ZIP_MAX_ENTRIES) {
+            return zipFiles(resFiles, zipFile, comment);
+        }
+        final File      scratchDir = zipFile.getAbsoluteFile().getParentFile();
+        int             threads    = Math.max(1, threadNumber);
+        // 同时处理中的条目数量 ( 限制内存占用 )
+        int             windowSize = threads * 2;
+        ExecutorService executor   = Executors.newFixedThreadPool(threads);
+        OutputStream    os         = null;
+        try {
+            os = new BufferedOutputStream(new FileOutputStream(zipFile), BUFFER_LEN * 8);
+            byte[]                      commentBytes = comment == null ? new byte[0] : comment.getBytes(UTF_8);
+            ArrayDeque<Future<ZipItem>> futures      = new ArrayDeque<>(windowSize);
+            long                        offset       = 0L;
+            int                         submitted    = 0;
+            for (int i = 0, len = items.size(); i < len; i++) {
+                while (submitted < len && submitted < i + windowSize) {
+                    final ZipItem item = items.get(submitted++);
+                    futures.add(executor.submit(() -> item.deflate(storeThreshold, scratchDir)));
+                }
+                ZipItem item;
+                try {
+                    item = futures.poll().get();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    throw (cause instanceof Exception) ? (Exception) cause : e;
+                }
+                item.offset = offset;
+                offset += item.writeLocal(os);
+                if (offset >= ZIP_MAX_LENGTH) {
+                    throw new IOException("zip file length exceeds 4GB");
+                }
+            }
+            // 写入中央目录
+            long centralLength = 0L;
+            for (ZipItem item : items) {
+                centralLength += item.writeCentral(os, commentBytes);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate(22).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0x06054b50).putShort((short) 0).putShort((short) 0)
+                    .putShort((short) items.size()).putShort((short) items.size())
+                    .putInt((int) centralLength).putInt((int) offset).putShort((short) 0);
+            os.write(buffer.array());
+            os.flush();
+            return true;
+        } finally {
+            executor.shutdownNow();
+            CloseUtils.closeIOQuietly(os);
+            for (ZipItem item : items) {
+                item.release();
+            }
+        }
+    }
+
+    /**
+     * 获取压缩条目
+     * @param resFile  待压缩文件
+     * @param rootPath 相对于压缩文件的路径
+     * @param items    压缩条目集合
+     * @return 文件总大小
+     */
+    private static long collectZipItems(
+            final File resFile,
+            final String rootPath,
+            final List<ZipItem> items
+    ) {
+        // 处理后的文件路径
+        String filePath = rootPath + (StringUtils.isEmpty(rootPath) ? "" : "/") + resFile.getName();
+        if (resFile.isDirectory()) {
+            File[] fileList = resFile.listFiles();
+            // 如果是空文件夹那么创建它
+            if (fileList == null || fileList.length == 0) {
+                items.add(new ZipItem(resFile, filePath + '/', true));
+                return 0L;
+            }
+            long length = 0L;
+            for (File file : fileList) {
+                length += collectZipItems(file, filePath, items);
+            }
+            return length;
+        }
+        items.add(new ZipItem(resFile, filePath, false));
+        return resFile.length();
+    }
+
+    /**
+     * detail: 并行压缩条目
+     * @author Ttt
+     */
+    private static final class ZipItem {
+
+        // 待压缩文件
+        private final File    file;
+        // 条目名
+        private final byte[]  name;
+        // 是否目录
+        private final boolean directory;
+        // DOS 格式修改时间
+        private final int     dosTime;
+        // 压缩方式
+        private int           method;
+        // CRC32 值
+        private long          crc;
+        // 原始大小
+        private long          size;
+        // 压缩后大小
+        private long          compressedSize;
+        // 压缩后数据 ( 内存 )
+        private byte[]        data;
+        // 压缩后数据 ( 临时文件 )
+        private File          scratch;
+        // 本地文件头位置
+        private long          offset;
+
+        ZipItem(
+                final File file,
+                final String name,
+                final boolean directory
+        ) {
+            this.file      = file;
+            this.name      = name.getBytes(UTF_8);
+            this.directory = directory;
+            this.dosTime   = toDosTime(file.lastModified());
+        }
+
+        /**
+         * 压缩条目数据
+         * @param storeThreshold 直接存储 ( 不压缩 ) 文件大小阈值 byte
+         * @param scratchDir     临时文件存储目录
+         * @return {@link ZipItem}
+         * @throws Exception 异常时抛出
+         */
+        ZipItem deflate(
+                final long storeThreshold,
+                final File scratchDir
+        )
+                throws Exception {
+            if (directory) {
+                method = ZipEntry.STORED;
+                data   = new byte[0];
+                return this;
+            }
+            long                  length   = file.length();
+            boolean               store    = length < storeThreshold;
+            CRC32                 crc32    = new CRC32();
+            Deflater              deflater = store ? null : new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            ByteArrayOutputStream baos     = null;
+            InputStream           is       = null;
+            OutputStream          os       = null;
+            try {
+                is = new FileInputStream(file);
+                if (length > MEMORY_DEFLATE_LENGTH) {
+                    scratch = File.createTempFile("zip", ".tmp", scratchDir);
+                    os      = new BufferedOutputStream(new FileOutputStream(scratch), BUFFER_LEN);
+                } else {
+                    baos = new ByteArrayOutputStream((int) length);
+                    os   = baos;
+                }
+                if (deflater != null) {
+                    os = new DeflaterOutputStream(os, deflater, BUFFER_LEN);
+                }
+                byte[] buffer = new byte[BUFFER_LEN];
+                int    len;
+                while ((len = is.read(buffer)) != -1) {
+                    crc32.update(buffer, 0, len);
+                    os.write(buffer, 0, len);
+                    size += len;
+                }
+                if (deflater != null) {
+                    ((DeflaterOutputStream) os).finish();
+                    compressedSize = deflater.getBytesWritten();
+                } else {
+                    compressedSize = size;
+                }
+                os.flush();
+            } finally {
+                CloseUtils.closeIOQuietly(is, os);
+                if (deflater != null) deflater.end();
+            }
+            method = store ? ZipEntry.STORED : ZipEntry.DEFLATED;
+            crc    = crc32.getValue();
+            if (baos != null) data = baos.toByteArray();
+            return this;
+        }
+
+        /**
+         * 写入本地文件头及压缩后数据
+         * @param os 压缩文件输出流
+         * @return 写入字节数
+         * @throws Exception 异常时抛出
+         */
+        long writeLocal(final OutputStream os)
+                throws Exception {
+            ByteBuffer buffer = ByteBuffer.allocate(30 + name.length).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0x04034b50).putShort((short) 20).putShort(FLAG_UTF8)
+                    .putShort((short) method).putInt(dosTime).putInt((int) crc)
+                    .putInt((int) compressedSize).putInt((int) size)
+                    .putShort((short) name.length).putShort((short) 0).put(name);
+            os.write(buffer.array());
+            if (data != null) {
+                os.write(data);
+            } else if (scratch != null) {
+                InputStream is = null;
+                try {
+                    is = new FileInputStream(scratch);
+                    byte[] bytes = new byte[BUFFER_LEN];
+                    int    len;
+                    while ((len = is.read(bytes)) != -1) {
+                        os.write(bytes, 0, len);
+                    }
+                } finally {
+                    CloseUtils.closeIOQuietly(is);
+                }
+            }
+            release();
+            return buffer.capacity() + compressedSize;
+        }
+
+        /**
+         * 写入中央目录文件头
+         * @param os      压缩文件输出流
+         * @param comment 条目注释
+         * @return 写入字节数
+         * @throws Exception 异常时抛出
+         */
+        long writeCentral(
+                final OutputStream os,
+                final byte[] comment
+        )
+                throws Exception {
+            ByteBuffer buffer = ByteBuffer.allocate(46 + name.length + comment.length)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            buffer.putInt(0x02014b50).putShort((short) 20).putShort((short) 20).putShort(FLAG_UTF8)
+                    .putShort((short) method).putInt(dosTime).putInt((int) crc)
+                    .putInt((int) compressedSize).putInt((int) size)
+                    .putShort((short) name.length).putShort((short) 0).putShort((short) comment.length)
+                    .putShort((short) 0).putShort((short) 0).putInt(directory ? 0x10 : 0)
+                    .putInt((int) offset).put(name).put(comment);
+            os.write(buffer.array());
+            return buffer.capacity();
+        }
+
+        /**
+         * 释放压缩后数据
+         */
+        void release() {
+            data = null;
+            if (scratch != null) {
+                FileUtils.deleteFile(scratch);
+                scratch = null;
+            }
+        }
+
+        /**
+         * 转换 DOS 格式时间
+         * @param millis 毫秒时间
+         * @return DOS 格式时间
+         */
+        private static int toDosTime(final long millis) {
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(millis);
+            int year = calendar.get(Calendar.YEAR);
+            if (year < 1980) return (1 << 21) | (1 << 16);
+            return ((year - 1980) << 25) | ((calendar.get(Calendar.MONTH) + 1) << 21)
+                    | (calendar.get(Calendar.DAY_OF_MONTH) << 16)
+                    | (calendar.get(Calendar.HOUR_OF_DAY) << 11)
+                    | (calendar.get(Calendar.MINUTE) << 5) | (calendar.get(Calendar.SECOND) >> 1);
+        }
+    }
+
     /**
      * 解压文件
      * @param zipFilePath 待解压文件路径
@@ -391,6 +752,159 @@ public final class ZipUtils {
         return true;
     }
 
+    // ============
+    // = 并行解压 =
+    // ============
+
+    /**
+     * 解压文件 ( 并行解压 )
+     * @param zipFile 待解压文件
+     * @param destDir 目标目录
+     * @return 文件链表
+     * @throws Exception 异常时抛出
+     */
+    public static List<File> unzipFileParallel(
+            final File zipFile,
+            final File destDir
+    )
+            throws Exception {
+        return unzipFileByKeywordParallel(zipFile, destDir, null, getDefaultThreadNumber());
+    }
+
+    /**
+     * 解压带有关键字的文件 ( 并行解压 )
+     * @param zipFile 待解压文件
+     * @param destDir 目标目录
+     * @param keyword 关键字
+     * @return 带有关键字的文件链表
+     * @throws Exception 异常时抛出
+     */
+    public static List<File> unzipFileByKeywordParallel(
+            final File zipFile,
+            final File destDir,
+            final String keyword
+    )
+            throws Exception {
+        return unzipFileByKeywordParallel(zipFile, destDir, keyword, getDefaultThreadNumber());
+    }
+
+    /**
+     * 解压带有关键字的文件 ( 并行解压 )
+     * <pre>
+     *     ZipFile 支持随机读取, 各文件条目分配到固定数量线程中并行解压
+     *     解压前统一创建全部目录, 已知大小的文件提前分配文件大小
+     *     解压失败时与 {@link #unzipFileByKeyword(File, File, String)} 一致, 返回失败条目之前的文件链表
+     * </pre>
+     * @param zipFile      待解压文件
+     * @param destDir      目标目录
+     * @param keyword      关键字
+     * @param threadNumber 并发线程数
+     * @return 带有关键字的文件链表
+     * @throws Exception 异常时抛出
+     */
+    public static List<File> unzipFileByKeywordParallel(
+            final File zipFile,
+            final File destDir,
+            final String keyword,
+            final int threadNumber
+    )
+            throws Exception {
+        if (zipFile == null || destDir == null) return null;
+        List<File>      files    = new ArrayList<>();
+        ZipFile         zip      = null;
+        ExecutorService executor = null;
+        try {
+            zip = new ZipFile(zipFile);
+            // 筛选解压条目
+            List<ZipEntry> entries     = new ArrayList<>();
+            Set<File>      directories = new TreeSet<>();
+            Enumeration<?> enumeration = zip.entries();
+            while (enumeration.hasMoreElements()) {
+                ZipEntry entry     = ((ZipEntry) enumeration.nextElement());
+                String   entryName = entry.getName();
+                if (entryName.contains("../")) {
+                    JCLogUtils.dTag(TAG, "entryName: %s is dangerous!", entryName);
+                    continue;
+                }
+                if (!StringUtils.isEmpty(keyword) && !entryName.contains(keyword)) continue;
+                File file = new File(destDir, entryName);
+                entries.add(entry);
+                directories.add(entry.isDirectory() ? file : file.getParentFile());
+            }
+            // 统一创建目录
+            for (File directory : directories) {
+                if (!FileUtils.createOrExistsDir(directory)) return files;
+            }
+            // 文件条目并行解压
+            final ZipFile         zf      = zip;
+            List<Future<Boolean>> futures = new ArrayList<>(entries.size());
+            executor = Executors.newFixedThreadPool(
+                    Math.max(1, Math.min(threadNumber, Math.max(1, entries.size())))
+            );
+            for (final ZipEntry entry : entries) {
+                if (entry.isDirectory()) {
+                    futures.add(null);
+                } else {
+                    futures.add(executor.submit(
+                            () -> unzipChildFile(zf, entry, new File(destDir, entry.getName()))
+                    ));
+                }
+            }
+            for (int i = 0, len = entries.size(); i < len; i++) {
+                Future<Boolean> future = futures.get(i);
+                if (future != null) {
+                    try {
+                        if (!future.get()) return files;
+                    } catch (ExecutionException e) {
+                        Throwable cause = e.getCause();
+                        throw (cause instanceof Exception) ? (Exception) cause : e;
+                    }
+                }
+                files.add(new File(destDir, entries.get(i).getName()));
+            }
+            return files;
+        } finally {
+            if (executor != null) executor.shutdownNow();
+            CloseUtils.closeIOQuietly(zip);
+        }
+    }
+
+    /**
+     * 解压文件 ( 目录已创建 )
+     * @param zf    压缩文件条目
+     * @param entry 压缩文件信息
+     * @param file  解压文件
+     * @return {@code true} success, {@code false} fail
+     * @throws Exception 异常时抛出
+     */
+    private static boolean unzipChildFile(
+            final ZipFile zf,
+            final ZipEntry entry,
+            final File file
+    )
+            throws Exception {
+        InputStream      is  = null;
+        RandomAccessFile raf = null;
+        try {
+            is  = zf.getInputStream(entry);
+            raf = new RandomAccessFile(file, "rw");
+            long size = entry.getSize();
+            // 提前分配文件大小
+            raf.setLength(Math.max(0L, size));
+            byte[] buffer = new byte[BUFFER_LEN * 8];
+            long   length = 0L;
+            int    len;
+            while ((len = is.read(buffer)) != -1) {
+                raf.write(buffer, 0, len);
+                length += len;
+            }
+            if (length != size) raf.setLength(length);
+            return true;
+        } finally {
+            CloseUtils.closeIOQuietly(is, raf);
+        }
+    }
+
     /**
      * 获取压缩文件中的文件路径链表
      * @param zipFilePath 压缩文件路径
@@ -19,13 +19,15 @@ public final class FileRecordUtils {
     }
 
     // 成功常量字符串
-    private static final String       RECORD_SUCCESS = "record successful";
+    private static final    String         RECORD_SUCCESS = "record successful";
     // 是否处理记录
-    private static       boolean      sHandler       = true;
+    private static          boolean        sHandler       = true;
     // 日志记录插入信息
-    private static       RecordInsert sRecordInsert  = null;
+    private static          RecordInsert   sRecordInsert  = null;
     // 文件记录回调
-    private static       Callback     sCallback      = null;
+    private static          Callback       sCallback      = null;
+    // 异步写入 ( 为 null 则同步写入 )
+    private static volatile RecordAppender sAppender      = null;
 
     // ==========
     // = 接口回调 =
@@ -96,6 +98,21 @@ public final class FileRecordUtils {
     private static String concatLog(
             final RecordConfig config,
             final Object... logs
+    ) {
+        return concatLog(config, System.currentTimeMillis(), logs);
+    }
+
+    /**
+     * 拼接日志
+     * @param config 日志记录配置信息
+     * @param millis 记录时间毫秒
+     * @param logs   日志内容数组
+     * @return 拼接后的日志内容
+     */
+    private static String concatLog(
+            final RecordConfig config,
+            final long millis,
+            final Object... logs
     ) {
         if (logs == null || logs.length == 0) return null;
         // 是否插入头数据 ( time =>、logs[] )
@@ -104,8 +121,8 @@ public final class FileRecordUtils {
         StringBuilder builder = new StringBuilder();
         if (headerData) {
             builder.append(DevFinal.SYMBOL.NEW_LINE_X2)
-                    // 获取当前时间
-                    .append(DateUtils.getDateNow())
+                    // 记录时间
+                    .append(DateUtils.formatTime(millis))
                     // 追加边距、换行
                     .append(" =>");
         }
@@ -147,6 +164,15 @@ public final class FileRecordUtils {
         // 判断是否存在日志内容
         if (logs == null || logs.length == 0) return "no data record";
 
+        // 异步写入 ( 拼接日志、获取文件路径在写入线程中处理 )
+        RecordAppender appender = sAppender;
+        if (appender != null) {
+            if (appender.offer(config, config.getRecordInsert(sRecordInsert), logs)) {
+                return RECORD_SUCCESS;
+            }
+            return "record dropped";
+        }
+
         // 文件路径
         String filePath = config.getFinalPath();
         // 文件名
@@ -182,6 +208,36 @@ public final class FileRecordUtils {
         return result ? RECORD_SUCCESS : "record failed";
     }
 
+    /**
+     * 拼接异步日志内容、获取存储路径 ( 写入线程中调用 )
+     * @param record 日志数据
+     */
+    static void format(final RecordAppender.Record record) {
+        record.filePath = record.config.getFinalPath(record.millis);
+        record.fileName = record.config.getFileName();
+        record.content  = concatInsertLog(
+                record.recordInsert, concatLog(record.config, record.millis, record.logs)
+        );
+    }
+
+    /**
+     * 异步日志写入结果回调 ( 写入线程中调用 )
+     * @param record 日志数据
+     * @param result 保存结果
+     */
+    static void callback(
+            final RecordAppender.Record record,
+            final boolean result
+    ) {
+        Callback callback = sCallback;
+        if (callback != null) {
+            callback.callback(
+                    result, record.config, record.filePath,
+                    record.fileName, record.content, record.logs
+            );
+        }
+    }
+
     // =============
     // = 对外公开方法 =
     // =============
@@ -239,6 +295,57 @@ public final class FileRecordUtils {
         FileRecordUtils.sCallback = callback;
     }
 
+    // ==========
+    // = 异步写入 =
+    // ==========
+
+    /**
+     * 获取异步写入
+     * @return {@link RecordAppender}
+     */
+    public static RecordAppender getAppender() {
+        return sAppender;
+    }
+
+    /**
+     * 设置异步写入
+     * <pre>
+     *     设置后记录方法只加入队列, 返回成功表示已加入队列, 写入结果通过 {@link Callback} 回调
+     *     传入 null 则恢复同步写入, 原异步写入会写入已记录日志并关闭
+     * </pre>
+     * @param appender {@link RecordAppender}
+     */
+    public static void setAppender(final RecordAppender appender) {
+        RecordAppender old;
+        synchronized (FileRecordUtils.class) {
+            old       = sAppender;
+            sAppender = appender;
+        }
+        if (old != null && old != appender) old.shutdown();
+    }
+
+    /**
+     * 等待已记录日志全部写入文件 ( 异步写入 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean flush() {
+        RecordAppender appender = sAppender;
+        return appender == null || appender.flush();
+    }
+
+    /**
+     * 写入已记录日志并关闭异步写入 ( 之后恢复同步写入 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean shutdown() {
+        RecordAppender old;
+        synchronized (FileRecordUtils.class) {
+            old       = sAppender;
+            sAppender = null;
+        }
+        return old == null || old.shutdown();
+    }
+
     // ==========
     // = 快捷方法 =
     // ==========
@@ -0,0 +1,444 @@
+package dev.utils.common.assist.record;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.FileUtils;
+import dev.utils.common.StringUtils;
+
+/**
+ * detail: 文件记录异步写入
+ * @author Ttt
+ * <pre>
+ *     记录线程只将日志加入有界队列, 由单个写入线程拼接日志内容并写入文件
+ *     同一文件的日志合并后一次写入 ( 达到 flushSize 字节或间隔 flushInterval 毫秒写入一次 )
+ *     日志时间为调用记录方法的时间, 日志对象在写入线程中转换为字符串 ( 记录后不可修改日志对象 )
+ *     通过 {@link FileRecordUtils#setAppender(RecordAppender)} 开启异步记录
+ * </pre>
+ */
+public final class RecordAppender {
+
+    // 日志 TAG
+    private static final String TAG                    = RecordAppender.class.getSimpleName();
+    // 默认队列容量
+    public static final  int    DEFAULT_CAPACITY       = 1024;
+    // 默认写入间隔 ( 毫秒 )
+    public static final  long   DEFAULT_FLUSH_INTERVAL = 1000L;
+    // 默认写入大小 ( 64kb )
+    public static final  int    DEFAULT_FLUSH_SIZE     = 65536;
+    // 等待写入线程检查间隔 ( 毫秒 )
+    private static final long   AWAIT_CHECK_INTERVAL   = 100L;
+
+    // 日志队列
+    private final BlockingQueue<Record> mQueue;
+    // 写入间隔 ( 毫秒 )
+    private final long                  mFlushInterval;
+    // 写入大小 ( 字节 )
+    private final int                   mFlushSize;
+    // 队列已满处理策略
+    private final Policy                mPolicy;
+    // 写入线程
+    private final Thread                mThread;
+    // 丢弃日志数
+    private final AtomicLong            mDropped  = new AtomicLong();
+    // 正在加入队列的日志数 ( 关闭时等待全部加入后写入 )
+    private final AtomicInteger         mOffering = new AtomicInteger();
+    // 是否已关闭
+    private volatile boolean            mShutdown;
+
+    /**
+     * detail: 队列已满处理策略
+     * @author Ttt
+     */
+    public enum Policy {
+
+        // 阻塞记录线程直到队列有空位
+        BLOCK,
+
+        // 丢弃日志
+        DROP
+    }
+
+    /**
+     * 构造函数
+     */
+    public RecordAppender() {
+        this(DEFAULT_CAPACITY, DEFAULT_FLUSH_INTERVAL, DEFAULT_FLUSH_SIZE, Policy.BLOCK);
+    }
+
+    /**
+     * 构造函数
+     * @param capacity      队列容量
+     * @param flushInterval 写入间隔 ( 毫秒 )
+     * @param flushSize     写入大小 ( 字节 )
+     * @param policy        队列已满处理策略
+     */
+    public RecordAppender(
+            final int capacity,
+            final long flushInterval,
+            final int flushSize,
+            final Policy policy
+    ) {
+        this.mQueue         = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        this.mFlushInterval = Math.max(1L, flushInterval);
+        this.mFlushSize     = Math.max(1, flushSize);
+        this.mPolicy        = (policy != null) ? policy : Policy.BLOCK;
+        this.mThread        = new Thread(this::loop, TAG);
+        this.mThread.setDaemon(true);
+        this.mThread.start();
+    }
+
+    // ==========
+    // = 日志数据 =
+    // ==========
+
+    /**
+     * detail: 日志数据
+     * @author Ttt
+     */
+    static final class Record {
+
+        // 日志记录配置信息
+        final RecordConfig   config;
+        // 日志记录插入信息
+        final RecordInsert   recordInsert;
+        // 记录时间
+        final long           millis;
+        // 日志内容数组
+        final Object[]       logs;
+        // 写入完成通知 ( 不为 null 则为 flush、shutdown 标记 )
+        final CountDownLatch latch;
+        // 是否为 shutdown 标记
+        final boolean        exit;
+        // 存储路径 ( 写入线程中赋值 )
+        String               filePath;
+        // 文件名 ( 写入线程中赋值 )
+        String               fileName;
+        // 最终日志内容 ( 写入线程中赋值 )
+        String               content;
+
+        Record(
+                final RecordConfig config,
+                final RecordInsert recordInsert,
+                final long millis,
+                final Object[] logs,
+                final CountDownLatch latch,
+                final boolean exit
+        ) {
+            this.config       = config;
+            this.recordInsert = recordInsert;
+            this.millis       = millis;
+            this.logs         = logs;
+            this.latch        = latch;
+            this.exit         = exit;
+        }
+    }
+
+    /**
+     * detail: 同一文件待写入数据
+     * @author Ttt
+     */
+    private static final class Pending {
+
+        // 存储文件
+        final File                  file;
+        // 待写入数据
+        final ByteArrayOutputStream buffer  = new ByteArrayOutputStream();
+        // 待写入日志
+        final List<Record>          records = new ArrayList<>();
+
+        Pending(final File file) {
+            this.file = file;
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 等待已记录日志全部写入文件
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean flush() {
+        return await(false);
+    }
+
+    /**
+     * 写入已记录日志并关闭写入线程
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean shutdown() {
+        return await(true);
+    }
+
+    /**
+     * 是否已关闭
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isShutdown() {
+        return mShutdown;
+    }
+
+    /**
+     * 获取待写入日志数
+     * @return 待写入日志数
+     */
+    public int getPendingCount() {
+        return mQueue.size();
+    }
+
+    /**
+     * 获取丢弃日志数 ( {@link Policy#DROP} )
+     * @return 丢弃日志数
+     */
+    public long getDroppedCount() {
+        return mDropped.get();
+    }
+
+    // ==========
+    // = 内部方法 =
+    // ==========
+
+    /**
+     * 加入日志队列
+     * @param config       日志记录配置信息
+     * @param recordInsert 日志记录插入信息
+     * @param logs         日志内容数组
+     * @return {@code true} success, {@code false} fail
+     */
+    boolean offer(
+            final RecordConfig config,
+            final RecordInsert recordInsert,
+            final Object[] logs
+    ) {
+        // 先计数再判断是否关闭, 保证关闭前通过判断的日志都能被写入线程读取
+        mOffering.incrementAndGet();
+        try {
+            if (mShutdown) return false;
+            Record record = new Record(config, recordInsert, System.currentTimeMillis(), logs, null, false);
+            if (mPolicy == Policy.DROP) {
+                if (mQueue.offer(record)) return true;
+                mDropped.incrementAndGet();
+                return false;
+            }
+            // 写入线程已结束则不再阻塞等待
+            while (!mQueue.offer(record, AWAIT_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+                if (!mThread.isAlive()) return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            mOffering.decrementAndGet();
+        }
+    }
+
+    /**
+     * 加入 flush、shutdown 标记并等待写入完成
+     * @param shutdown 是否关闭
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean await(final boolean shutdown) {
+        CountDownLatch latch  = new CountDownLatch(1);
+        Record         marker = new Record(null, null, 0L, null, latch, shutdown);
+        try {
+            // 加锁保证 shutdown 标记之后不再有其他标记
+            synchronized (this) {
+                if (mShutdown) return !mThread.isAlive() && mQueue.isEmpty();
+                if (shutdown) mShutdown = true;
+                // 标记不受 DROP 策略影响, 写入线程已结束则不再等待
+                while (!mQueue.offer(marker, AWAIT_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+                    if (!mThread.isAlive()) return false;
+                }
+            }
+            while (!latch.await(AWAIT_CHECK_INTERVAL, TimeUnit.MILLISECONDS)) {
+                if (!mThread.isAlive()) return latch.getCount() == 0L;
+            }
+            if (shutdown) mThread.join();
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * 写入线程循环
+     */
+    private void loop() {
+        try {
+            Map<String, Pending> pendingMaps  = new LinkedHashMap<>();
+            List<Record>         records      = new ArrayList<>();
+            long                 pendingBytes = 0L;
+            long                 lastFlush    = System.currentTimeMillis();
+            while (true) {
+                long wait = Math.max(0L, lastFlush + mFlushInterval - System.currentTimeMillis());
+                try {
+                    Record record = mQueue.poll(wait, TimeUnit.MILLISECONDS);
+                    if (record != null) {
+                        records.add(record);
+                        mQueue.drainTo(records);
+                    }
+                } catch (InterruptedException ignore) {
+                }
+                boolean exit = false;
+                for (Record record : records) {
+                    if (record.latch != null) {
+                        try {
+                            write(pendingMaps);
+                        } finally {
+                            pendingBytes = 0L;
+                            lastFlush    = System.currentTimeMillis();
+                            record.latch.countDown();
+                        }
+                        if (record.exit) exit = true;
+                        continue;
+                    }
+                    pendingBytes += append(pendingMaps, record);
+                }
+                records.clear();
+                if (exit) {
+                    drainOffering(pendingMaps, records);
+                    write(pendingMaps);
+                    return;
+                }
+                long now = System.currentTimeMillis();
+                if (pendingBytes >= mFlushSize || now - lastFlush >= mFlushInterval) {
+                    write(pendingMaps);
+                    pendingBytes = 0L;
+                    lastFlush    = now;
+                }
+            }
+        } catch (Throwable e) {
+            JCLogUtils.eTag(TAG, e, "loop");
+        } finally {
+            // 写入线程结束后不再接收日志
+            mShutdown = true;
+        }
+    }
+
+    /**
+     * 读取关闭前并发加入的日志
+     * <pre>
+     *     先读取正在加入队列的日志数再读取队列, 日志数为 0 时队列中已包含全部日志
+     * </pre>
+     * @param pendingMaps 待写入数据
+     * @param records     日志集合
+     */
+    private void drainOffering(
+            final Map<String, Pending> pendingMaps,
+            final List<Record> records
+    ) {
+        while (true) {
+            boolean done = mOffering.get() == 0;
+            mQueue.drainTo(records);
+            for (Record record : records) {
+                if (record.latch != null) {
+                    record.latch.countDown();
+                } else {
+                    append(pendingMaps, record);
+                }
+            }
+            records.clear();
+            if (done) return;
+            Thread.yield();
+        }
+    }
+
+    /**
+     * 拼接日志并加入所属文件待写入数据
+     * @param pendingMaps 待写入数据
+     * @param record      日志数据
+     * @return 加入字节数
+     */
+    private long append(
+            final Map<String, Pending> pendingMaps,
+            final Record record
+    ) {
+        try {
+            FileRecordUtils.format(record);
+            if (StringUtils.isEmpty(record.filePath, record.fileName)) {
+                callback(record, false);
+                return 0L;
+            }
+            File    file    = FileUtils.getFile(record.filePath, record.fileName);
+            String  key     = file.getAbsolutePath();
+            Pending pending = pendingMaps.get(key);
+            int     before  = 0;
+            if (pending == null) {
+                pending = new Pending(file);
+                pendingMaps.put(key, pending);
+                // 文件信息 ( 一个文件只会添加一次文件信息, 且在最顶部 )
+                if (record.recordInsert != null && !FileUtils.isFileExists(file)) {
+                    String fileInfo = record.recordInsert.getFileInfo();
+                    if (fileInfo != null) pending.buffer.write(StringUtils.getBytes(fileInfo));
+                }
+            } else {
+                before = pending.buffer.size();
+            }
+            byte[] data = StringUtils.getBytes(record.content);
+            if (data != null) pending.buffer.write(data);
+            pending.records.add(record);
+            return pending.buffer.size() - before;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "append");
+            callback(record, false);
+            return 0L;
+        }
+    }
+
+    /**
+     * 写入待写入数据 ( 每个文件一次写入 )
+     * @param pendingMaps 待写入数据
+     */
+    private void write(final Map<String, Pending> pendingMaps) {
+        for (Pending pending : pendingMaps.values()) {
+            boolean          result = false;
+            FileOutputStream fos    = null;
+            try {
+                fos = new FileOutputStream(pending.file, true);
+                pending.buffer.writeTo(fos);
+                result = true;
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "write");
+            } finally {
+                CloseUtils.closeIOQuietly(fos);
+            }
+            for (Record record : pending.records) {
+                callback(record, result);
+            }
+        }
+        pendingMaps.clear();
+    }
+
+    /**
+     * 触发记录结果回调 ( 回调异常不影响写入线程 )
+     * @param record 日志数据
+     * @param result 保存结果
+     */
+    private static void callback(
+            final Record record,
+            final boolean result
+    ) {
+        try {
+            FileRecordUtils.callback(record, result);
+        } catch (Throwable e) {
+            JCLogUtils.eTag(TAG, e, "callback");
+        }
+    }
+}
\ No newline at end of file
@@ -256,7 +256,16 @@ public final class RecordConfig {
      * @return 文件地址
      */
     public String getFinalPath() {
-        File file = FileUtils.getFile(mStoragePath, getIntervalTimeFolder());
+        return getFinalPath(System.currentTimeMillis());
+    }
+
+    /**
+     * 获取文件地址
+     * @param millis 记录时间毫秒
+     * @return 文件地址
+     */
+    public String getFinalPath(final long millis) {
+        File file = FileUtils.getFile(mStoragePath, getIntervalTimeFolder(millis));
         // 创建文件夹
         FileUtils.createFolder(file);
         return FileUtils.getAbsolutePath(file);
@@ -268,13 +277,14 @@ public final class RecordConfig {
 
     /**
      * 获取时间间隔所属的文件夹
+     * @param millis 记录时间毫秒
      * @return 时间间隔所属的文件夹
      */
-    private String getIntervalTimeFolder() {
+    private String getIntervalTimeFolder(final long millis) {
         // 文件夹
         String folder = String.format(
                 "FileRecord/%s/%s/",
-                DateUtils.getDateNow(DevFinal.TIME.yyyyMMdd_UNDERSCORE),
+                DateUtils.formatTime(millis, DevFinal.TIME.yyyyMMdd_UNDERSCORE),
                 mFolderName
         );
         // 进行判断
@@ -284,7 +294,7 @@ public final class RecordConfig {
             case HH:
             case MM:
             case SS:
-                Date date = new Date();
+                Date date = new Date(millis);
                 // 小时格式 ( 24 )
                 String hh_Format = DateUtils.timeAddZero(DateUtils.get24Hour(date));
                 // 判断属于小时格式
@@ -1,11 +1,15 @@
 package dev.utils.common.assist.search;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RecursiveAction;
 import java.util.concurrent.ThreadPoolExecutor;
 
 import dev.utils.JCLogUtils;
@@ -13,6 +17,12 @@ import dev.utils.JCLogUtils;
 /**
  * detail: 文件广度优先搜索算法 ( 多线程 + 队列, 搜索某个目录下的全部文件 )
  * @author Ttt
+ * <pre>
+ *     默认使用线程池 + 队列轮询方式搜索
+ *     可通过 {@link #setWorkStealing(boolean)} 开启 ForkJoin 工作窃取搜索模式
+ *     该模式下无需轮询队列, 并发数量由 {@link #setQueueSameTimeNumber(int)} 控制
+ *     不支持 ForkJoinPool ( Android API 21 ) 时使用线程池 + 队列轮询方式
+ * </pre>
  */
 public final class FileBreadthFirstSearchUtils {
 
@@ -150,6 +160,10 @@ public final class FileBreadthFirstSearchUtils {
         ) {
             // 表示非搜索中
             mRunning = false;
+            // 标记流式队列搜索结束
+            if (mSearchQueue != null) {
+                mSearchQueue.finish();
+            }
             // 触发回调
             if (mSearchHandler != null) {
                 mSearchHandler.onEndListener(rootFileItem, startTime, endTime);
@@ -188,6 +202,76 @@ public final class FileBreadthFirstSearchUtils {
         return this;
     }
 
+    /**
+     * 获取搜索结果流式队列
+     * @return {@link FileSearchQueue}
+     */
+    public FileSearchQueue getSearchQueue() {
+        return mSearchQueue;
+    }
+
+    /**
+     * 设置搜索结果流式队列
+     * <pre>
+     *     设置后匹配的文件会在搜索过程中实时写入队列 ( 队列满时阻塞搜索 )
+     *     队列只能用于一次搜索, 已结束或已关闭消费的队列调用 query 时直接触发结束回调, 再次搜索需重新设置新的队列
+     * </pre>
+     * @param searchQueue 搜索结果流式队列
+     * @return {@link FileBreadthFirstSearchUtils}
+     */
+    public synchronized FileBreadthFirstSearchUtils setSearchQueue(final FileSearchQueue searchQueue) {
+        if (mRunning) {
+            return this;
+        }
+        this.mSearchQueue = searchQueue;
+        return this;
+    }
+
+    /**
+     * 是否构建 FileItem 树
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isBuildTree() {
+        return mBuildTree;
+    }
+
+    /**
+     * 设置是否构建 FileItem 树
+     * <pre>
+     *     不构建时 onEndListener 只返回根目录信息 ( 无子文件 ), 一般配合 {@link #setSearchQueue} 使用
+     * </pre>
+     * @param buildTree 是否构建 FileItem 树
+     * @return {@link FileBreadthFirstSearchUtils}
+     */
+    public synchronized FileBreadthFirstSearchUtils setBuildTree(final boolean buildTree) {
+        if (mRunning) {
+            return this;
+        }
+        this.mBuildTree = buildTree;
+        return this;
+    }
+
+    /**
+     * 是否使用 ForkJoin 工作窃取搜索模式
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isWorkStealing() {
+        return mWorkStealing;
+    }
+
+    /**
+     * 设置是否使用 ForkJoin 工作窃取搜索模式
+     * @param workStealing 是否使用 ForkJoin 工作窃取搜索模式
+     * @return {@link FileBreadthFirstSearchUtils}
+     */
+    public synchronized FileBreadthFirstSearchUtils setWorkStealing(final boolean workStealing) {
+        if (mRunning) {
+            return this;
+        }
+        this.mWorkStealing = workStealing;
+        return this;
+    }
+
     /**
      * 是否搜索中
      * @return {@code true} 搜索 / 运行中, {@code false} 非搜索 / 运行中
@@ -261,8 +345,14 @@ public final class FileBreadthFirstSearchUtils {
     private       long                           mDelayTime           = 50L;
     // 任务队列同时进行数量
     private       int                            mQueueSameTimeNumber = 5;
+    // 是否使用 ForkJoin 工作窃取搜索模式
+    private       boolean                        mWorkStealing        = false;
+    // 是否构建 FileItem 树
+    private       boolean                        mBuildTree           = true;
+    // 搜索结果流式队列
+    private       FileSearchQueue                mSearchQueue;
     // 线程池
-    private final ExecutorService                mExecutor            = Executors.newCachedThreadPool();
+    private       ExecutorService                mExecutor;
     // 任务队列
     private final LinkedBlockingQueue<FileQueue> mTaskQueue           = new LinkedBlockingQueue<>();
 
@@ -277,6 +367,12 @@ public final class FileBreadthFirstSearchUtils {
             // 触发结束回调
             mInnerHandler.onEndListener(null, -1, -1);
             return;
+        } else if (mSearchQueue != null && (mSearchQueue.isFinished() || mSearchQueue.isClosed())) {
+            // 流式队列只能使用一次
+            JCLogUtils.eTag(TAG, "query searchQueue is finished or closed");
+            // 触发结束回调
+            mInnerHandler.onEndListener(null, -1, -1);
+            return;
         }
         // 表示运行中
         mRunning = true;
@@ -290,6 +386,10 @@ public final class FileBreadthFirstSearchUtils {
             mRootFileItem = new FileItem(file);
             // 判断是否文件
             if (file.isFile()) {
+                // 写入流式队列
+                if (mSearchQueue != null && mInnerHandler.isAddToList(file)) {
+                    mSearchQueue.put(file);
+                }
                 // 触发结束回调
                 mEndTime = System.currentTimeMillis();
                 mInnerHandler.onEndListener(mRootFileItem, mStartTime, mEndTime);
@@ -299,6 +399,14 @@ public final class FileBreadthFirstSearchUtils {
             String[] fileArrays = file.list();
             // 获取文件总数
             if (fileArrays != null && fileArrays.length != 0) {
+                if (mWorkStealing) {
+                    final int parallelism = Math.max(1, mQueueSameTimeNumber);
+                    new Thread(() -> forkJoinQuery(parallelism)).start();
+                    return;
+                }
+                if (mExecutor == null) {
+                    mExecutor = Executors.newCachedThreadPool();
+                }
                 new Thread(() -> {
                     // 查询文件
                     queryFile(mRootFileItem.file, mRootFileItem);
@@ -347,20 +455,20 @@ public final class FileBreadthFirstSearchUtils {
                                 if (mStop) {
                                     return;
                                 }
-                                FileItem subFileItem = fileItem.put(queryFile);
+                                FileItem subFileItem = putDirectory(fileItem, queryFile);
                                 // 添加任务
                                 mTaskQueue.offer(new FileQueue(queryFile, subFileItem));
                             } else { // 属于文件
                                 if (!mStop && mInnerHandler.isAddToList(queryFile)) {
                                     // 属于文件则直接保存
-                                    fileItem.put(queryFile);
+                                    putFile(fileItem, queryFile);
                                 }
                             }
                         }
                     } else { // 属于文件
                         if (!mStop && mInnerHandler.isAddToList(file)) {
                             // 属于文件则直接保存
-                            fileItem.put(file);
+                            putFile(fileItem, file);
                         }
                     }
                 }
@@ -370,6 +478,40 @@ public final class FileBreadthFirstSearchUtils {
         }
     }
 
+    /**
+     * 保存文件夹信息
+     * @param fileItem 所在文件夹信息对象 ( 上一级目录 )
+     * @param file     文件夹
+     * @return 文件夹信息 {@link FileItem}
+     */
+    private FileItem putDirectory(
+            final FileItem fileItem,
+            final File file
+    ) {
+        if (mBuildTree && fileItem != null) {
+            return fileItem.put(file);
+        }
+        return null;
+    }
+
+    /**
+     * 保存文件信息
+     * @param fileItem 所在文件夹信息对象 ( 上一级目录 )
+     * @param file     文件
+     */
+    private void putFile(
+            final FileItem fileItem,
+            final File file
+    ) {
+        if (mBuildTree && fileItem != null) {
+            fileItem.put(file);
+        }
+        // 写入流式队列 ( 队列满时阻塞 ), 写入失败表示已关闭消费则停止搜索
+        if (mSearchQueue != null && !mSearchQueue.put(file)) {
+            mStop = true;
+        }
+    }
+
     // ============
     // = 线程池处理 =
     // ============
@@ -411,4 +553,108 @@ public final class FileBreadthFirstSearchUtils {
         mEndTime = System.currentTimeMillis();
         mInnerHandler.onEndListener(mRootFileItem, mStartTime, mEndTime);
     }
+
+    // ==================
+    // = ForkJoin 工作窃取 =
+    // ==================
+
+    /**
+     * ForkJoin 工作窃取方式搜索
+     * @param parallelism 并发数量
+     */
+    private void forkJoinQuery(final int parallelism) {
+        ForkJoinPool pool;
+        try {
+            pool = new ForkJoinPool(parallelism);
+        } catch (LinkageError e) {
+            // 不支持 ForkJoinPool 则使用线程池 + 队列轮询方式
+            if (mExecutor == null) {
+                mExecutor = Executors.newCachedThreadPool();
+            }
+            queryFile(mRootFileItem.file, mRootFileItem);
+            whileQueue();
+            return;
+        }
+        try {
+            pool.invoke(new DirectoryTask(mRootFileItem.file, mRootFileItem));
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "forkJoinQuery");
+        } finally {
+            pool.shutdown();
+        }
+        // 触发结束回调
+        mEndTime = System.currentTimeMillis();
+        mInnerHandler.onEndListener(mRootFileItem, mStartTime, mEndTime);
+    }
+
+    /**
+     * detail: 文件夹搜索任务
+     * @author Ttt
+     * <pre>
+     *     每个文件夹为一个任务, 子文件夹 fork 到当前工作线程队列, 空闲线程自动窃取
+     *     等待全部子任务完成后才结束, 不需要轮询队列及线程活动数量
+     * </pre>
+     */
+    private class DirectoryTask
+            extends RecursiveAction {
+
+        private static final long serialVersionUID = 4273581640165903012L;
+
+        // 当前准备处理文件夹
+        private final File     file;
+        // 当前文件夹信息对象 ( 不构建文件树时为 null )
+        private final FileItem fileItem;
+
+        DirectoryTask(
+                final File file,
+                final FileItem fileItem
+        ) {
+            this.file     = file;
+            this.fileItem = fileItem;
+        }
+
+        @Override
+        protected void compute() {
+            if (mStop) {
+                return;
+            }
+            List<DirectoryTask> tasks = new ArrayList<>();
+            try {
+                // 判断是否处理
+                if (!mInnerHandler.isHandlerFile(file)) {
+                    return;
+                }
+                // 使用 File.listFiles 遍历 ( java.nio.file 需要 Android API 26 )
+                File[] files = file.listFiles();
+                if (files == null) {
+                    return;
+                }
+                for (File queryFile : files) {
+                    if (mStop) {
+                        break;
+                    }
+                    // 属于文件夹
+                    if (queryFile.isDirectory()) {
+                        FileItem subFileItem = putDirectory(fileItem, queryFile);
+                        // 添加任务
+                        DirectoryTask task = new DirectoryTask(queryFile, subFileItem);
+                        task.fork();
+                        tasks.add(task);
+                    } else { // 属于文件
+                        if (mInnerHandler.isAddToList(queryFile)) {
+                            // 属于文件则直接保存
+                            putFile(fileItem, queryFile);
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "DirectoryTask");
+            } finally {
+                // 等待子任务完成 ( 遍历中途异常也需等待已 fork 的子任务, 等待期间当前线程会协助执行其他任务 )
+                for (DirectoryTask task : tasks) {
+                    task.join();
+                }
+            }
+        }
+    }
 }
\ No newline at end of file
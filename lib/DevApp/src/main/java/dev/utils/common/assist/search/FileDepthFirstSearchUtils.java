@@ -108,6 +108,10 @@ public final class FileDepthFirstSearchUtils {
         ) {
             // 表示非搜索中
             mRunning = false;
+            // 标记流式队列搜索结束
+            if (mSearchQueue != null) {
+                mSearchQueue.finish();
+            }
             // 触发回调
             if (mSearchHandler != null) {
                 mSearchHandler.onEndListener(lists, startTime, endTime);
@@ -125,6 +129,55 @@ public final class FileDepthFirstSearchUtils {
         return this;
     }
 
+    /**
+     * 获取搜索结果流式队列
+     * @return {@link FileSearchQueue}
+     */
+    public FileSearchQueue getSearchQueue() {
+        return mSearchQueue;
+    }
+
+    /**
+     * 设置搜索结果流式队列
+     * <pre>
+     *     设置后匹配的文件会在搜索过程中实时写入队列 ( 队列满时阻塞搜索 )
+     *     队列只能用于一次搜索, 已结束或已关闭消费的队列调用 query 时直接触发结束回调, 再次搜索需重新设置新的队列
+     * </pre>
+     * @param searchQueue 搜索结果流式队列
+     * @return {@link FileDepthFirstSearchUtils}
+     */
+    public synchronized FileDepthFirstSearchUtils setSearchQueue(final FileSearchQueue searchQueue) {
+        if (mRunning) {
+            return this;
+        }
+        this.mSearchQueue = searchQueue;
+        return this;
+    }
+
+    /**
+     * 是否构建 FileItem 集合
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isBuildTree() {
+        return mBuildTree;
+    }
+
+    /**
+     * 设置是否构建 FileItem 集合
+     * <pre>
+     *     不构建时 onEndListener 返回空集合, 一般配合 {@link #setSearchQueue} 使用
+     * </pre>
+     * @param buildTree 是否构建 FileItem 集合
+     * @return {@link FileDepthFirstSearchUtils}
+     */
+    public synchronized FileDepthFirstSearchUtils setBuildTree(final boolean buildTree) {
+        if (mRunning) {
+            return this;
+        }
+        this.mBuildTree = buildTree;
+        return this;
+    }
+
     /**
      * 是否搜索中
      * @return {@code true} 搜索 / 运行中, {@code false} 非搜索 / 运行中
@@ -167,13 +220,17 @@ public final class FileDepthFirstSearchUtils {
     // =
 
     // 判断是否运行中
-    private boolean mRunning   = false;
+    private boolean         mRunning   = false;
     // 是否停止搜索
-    private boolean mStop      = false;
+    private boolean         mStop      = false;
     // 开始搜索时间
-    private long    mStartTime = 0L;
+    private long            mStartTime = 0L;
     // 结束搜索时间
-    private long    mEndTime   = 0L;
+    private long            mEndTime   = 0L;
+    // 是否构建 FileItem 集合
+    private boolean         mBuildTree = true;
+    // 搜索结果流式队列
+    private FileSearchQueue mSearchQueue;
 
     /**
      * 搜索目录
@@ -190,6 +247,12 @@ public final class FileDepthFirstSearchUtils {
             // 触发结束回调
             mInnerHandler.onEndListener(null, -1, -1);
             return;
+        } else if (mSearchQueue != null && (mSearchQueue.isFinished() || mSearchQueue.isClosed())) {
+            // 流式队列只能使用一次
+            JCLogUtils.eTag(TAG, "query searchQueue is finished or closed");
+            // 触发结束回调
+            mInnerHandler.onEndListener(null, -1, -1);
+            return;
         }
         // 表示运行中
         mRunning = true;
@@ -202,7 +265,7 @@ public final class FileDepthFirstSearchUtils {
             // 判断是否文件
             if (file.isFile()) {
                 List<FileItem> lists = new ArrayList<>();
-                lists.add(new FileItem(file));
+                addFile(lists, file);
                 // 触发结束回调
                 mEndTime = System.currentTimeMillis();
                 mInnerHandler.onEndListener(lists, mStartTime, mEndTime);
@@ -261,6 +324,11 @@ public final class FileDepthFirstSearchUtils {
                         for (File queryFile : files) {
                             if (isRelation) {
                                 if (queryFile.isDirectory()) {
+                                    if (!mBuildTree) {
+                                        // 不构建 FileItem 集合则只查找文件 ( 过滤方式不变 )
+                                        queryFile(queryFile, lists, isRelation);
+                                        continue;
+                                    }
                                     List<FileItem> childs = new ArrayList<>();
                                     // 查找文件
                                     queryFile(queryFile, childs, isRelation);
@@ -272,7 +340,7 @@ public final class FileDepthFirstSearchUtils {
                                     // 属于文件
                                     if (mInnerHandler.isAddToList(queryFile)) {
                                         // 属于文件则直接保存
-                                        lists.add(new FileItem(queryFile));
+                                        addFile(lists, queryFile);
                                     }
                                 }
                             } else {
@@ -283,7 +351,7 @@ public final class FileDepthFirstSearchUtils {
                     } else { // 属于文件
                         if (mInnerHandler.isAddToList(file)) {
                             // 属于文件则直接保存
-                            lists.add(new FileItem(file));
+                            addFile(lists, file);
                         }
                     }
                 }
@@ -292,4 +360,22 @@ public final class FileDepthFirstSearchUtils {
             JCLogUtils.eTag(TAG, e, "queryFile");
         }
     }
+
+    /**
+     * 保存文件信息
+     * @param lists 保存数据源
+     * @param file  文件
+     */
+    private void addFile(
+            final List<FileItem> lists,
+            final File file
+    ) {
+        if (mBuildTree) {
+            lists.add(new FileItem(file));
+        }
+        // 写入流式队列 ( 队列满时阻塞 ), 写入失败表示已关闭消费则停止搜索
+        if (mSearchQueue != null && !mSearchQueue.put(file)) {
+            mStop = true;
+        }
+    }
 }
\ No newline at end of file
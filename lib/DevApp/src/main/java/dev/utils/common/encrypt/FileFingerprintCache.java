@@ -0,0 +1,565 @@
+package dev.utils.common.encrypt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+
+/**
+ * detail: 文件指纹 ( 摘要值 ) 缓存
+ * @author Ttt
+ * <pre>
+ *     以 ( 文件路径、文件大小、最后修改时间 ) 作为校验, 未变化则直接返回已保存的摘要值, 不再重新读取文件计算
+ *     未命中时通过 {@link FileDigestUtils} 单次读取计算所需摘要值并保存
+ *     <p></p>
+ *     内存: LRU 缓存最近使用的指纹信息
+ *     磁盘: 追加写入的索引文件 ( 每条记录: 路径、大小、修改时间、摘要值 ), 重启后可继续使用
+ *     构造时只扫描一次索引文件记录每个路径最新记录位置, 内存未命中时再读取对应记录
+ *     重复更新的文件会在索引文件中留下旧记录, 可通过 {@link #compact()} 压缩
+ *     <p></p>
+ *     FileFingerprintCache cache = new FileFingerprintCache(indexFile);
+ *     String md5 = cache.getHexString(file, FileDigestUtils.MD5);
+ * </pre>
+ */
+public final class FileFingerprintCache {
+
+    // 日志 TAG
+    private static final String  TAG                = FileFingerprintCache.class.getSimpleName();
+    // 索引文件头标识
+    private static final int     MAGIC              = 0x44464650;
+    // 索引文件版本
+    private static final int     VERSION            = 1;
+    // 索引文件头长度
+    private static final int     HEADER_LENGTH      = 8;
+    // 默认内存缓存数量
+    public static final  int     DEFAULT_MEMORY_MAX = 1024;
+    // 路径编码
+    private static final Charset CHARSET            = Charset.forName("UTF-8");
+
+    // 索引文件
+    private final File                        mIndexFile;
+    // 内存 LRU 缓存
+    private final LinkedHashMap<String, Item> mMemoryMaps;
+    // 磁盘记录位置 ( key 为文件路径, value 为最新记录偏移 )
+    private final Map<String, Long>           mOffsetMaps = new HashMap<>();
+    // 索引文件读写对象
+    private       RandomAccessFile            mIndexAccess;
+    // 索引文件有效数据长度
+    private       long                        mIndexLength;
+    // 命中次数
+    private       long                        mHitCount;
+    // 未命中次数
+    private       long                        mMissCount;
+
+    /**
+     * 构造函数
+     * @param indexFile 索引文件
+     */
+    public FileFingerprintCache(final File indexFile) {
+        this(indexFile, DEFAULT_MEMORY_MAX);
+    }
+
+    /**
+     * 构造函数
+     * @param indexFile      索引文件 ( 为 null 则只使用内存缓存 )
+     * @param memoryMaxCount 内存缓存最大数量
+     */
+    public FileFingerprintCache(
+            final File indexFile,
+            final int memoryMaxCount
+    ) {
+        final int maxCount = Math.max(1, memoryMaxCount);
+        this.mIndexFile  = indexFile;
+        this.mMemoryMaps = new LinkedHashMap<String, Item>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Item> eldest) {
+                return size() > maxCount;
+            }
+        };
+        loadIndex();
+    }
+
+    /**
+     * detail: 文件指纹信息
+     * @author Ttt
+     */
+    private static final class Item {
+
+        // 文件大小
+        private final long                length;
+        // 文件最后修改时间
+        private final long                lastModified;
+        // 摘要值 ( key 为算法 )
+        private final Map<String, byte[]> digests;
+
+        Item(
+                final long length,
+                final long lastModified,
+                final Map<String, byte[]> digests
+        ) {
+            this.length       = length;
+            this.lastModified = lastModified;
+            this.digests      = digests;
+        }
+
+        /**
+         * 判断是否与文件一致且包含全部算法
+         * @param length       文件大小
+         * @param lastModified 文件最后修改时间
+         * @param algorithms   算法
+         * @return {@code true} yes, {@code false} no
+         */
+        boolean isMatch(
+                final long length,
+                final long lastModified,
+                final String[] algorithms
+        ) {
+            if (this.length != length || this.lastModified != lastModified) {
+                return false;
+            }
+            for (String algorithm : algorithms) {
+                if (!digests.containsKey(algorithm)) return false;
+            }
+            return true;
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取文件摘要值 ( 优先使用缓存 )
+     * @param file       文件
+     * @param algorithms 算法 ( MessageDigest 算法名或 {@link FileDigestUtils#CRC32} )
+     * @return {@link FileDigestUtils.DigestResult}
+     */
+    public FileDigestUtils.DigestResult getDigests(
+            final File file,
+            final String... algorithms
+    ) {
+        if (file == null || !file.isFile() || algorithms == null || algorithms.length == 0) {
+            return null;
+        }
+        String path         = file.getAbsolutePath();
+        long   length       = file.length();
+        long   lastModified = file.lastModified();
+        Item   item;
+        synchronized (this) {
+            item = getItem(path);
+            if (item != null && item.isMatch(length, lastModified, algorithms)) {
+                mHitCount++;
+                return toResult(item, algorithms);
+            }
+            mMissCount++;
+        }
+        // 文件未变化则保留已有算法摘要值, 只计算缺少的算法
+        Map<String, byte[]> digests = new LinkedHashMap<>();
+        if (item != null && item.length == length && item.lastModified == lastModified) {
+            digests.putAll(item.digests);
+        }
+        List<String> missing = new ArrayList<>();
+        for (String algorithm : algorithms) {
+            if (!digests.containsKey(algorithm) && !missing.contains(algorithm)) {
+                missing.add(algorithm);
+            }
+        }
+        FileDigestUtils.DigestResult result = FileDigestUtils.getFileDigests(
+                file, missing.toArray(new String[0])
+        );
+        if (result == null) return null;
+        // 计算期间文件被修改则不保存
+        if (result.getLength() != length || file.lastModified() != lastModified) {
+            return result;
+        }
+        digests.putAll(result.getDigests());
+        Item newItem = new Item(length, lastModified, digests);
+        synchronized (this) {
+            putItem(path, newItem);
+        }
+        return toResult(newItem, algorithms);
+    }
+
+    /**
+     * 获取文件摘要值 ( 优先使用缓存 )
+     * @param file      文件
+     * @param algorithm 算法 ( MessageDigest 算法名或 {@link FileDigestUtils#CRC32} )
+     * @return 摘要值转十六进制字符串
+     */
+    public String getHexString(
+            final File file,
+            final String algorithm
+    ) {
+        FileDigestUtils.DigestResult result = getDigests(file, algorithm);
+        return (result != null) ? result.getHexString(algorithm) : null;
+    }
+
+    /**
+     * 获取文件 MD5 值 ( 优先使用缓存 )
+     * @param file 文件
+     * @return 文件 MD5 值转十六进制字符串
+     */
+    public String getFileMD5ToHexString(final File file) {
+        return getHexString(file, FileDigestUtils.MD5);
+    }
+
+    /**
+     * 移除文件指纹缓存
+     * @param file 文件
+     */
+    public synchronized void remove(final File file) {
+        if (file == null) return;
+        String path = file.getAbsolutePath();
+        mMemoryMaps.remove(path);
+        if (mOffsetMaps.remove(path) != null) {
+            // 写入删除记录
+            appendRecord(path, new Item(-1L, -1L, new HashMap<>()));
+        }
+    }
+
+    /**
+     * 清空全部缓存 ( 包含索引文件 )
+     */
+    public synchronized void clear() {
+        mMemoryMaps.clear();
+        mOffsetMaps.clear();
+        closeIndex();
+        if (mIndexFile != null) {
+            mIndexFile.delete();
+        }
+        mIndexLength = 0L;
+    }
+
+    /**
+     * 压缩索引文件 ( 移除旧记录、删除记录 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public synchronized boolean compact() {
+        if (mIndexFile == null) return true;
+        File             tempFile = new File(mIndexFile.getPath() + ".tmp");
+        RandomAccessFile temp     = null;
+        try {
+            Map<String, Item> items = new LinkedHashMap<>();
+            for (String path : mOffsetMaps.keySet()) {
+                Item item = getItem(path);
+                if (item != null) items.put(path, item);
+            }
+            closeIndex();
+            tempFile.delete();
+            temp = new RandomAccessFile(tempFile, "rw");
+            writeHeader(temp);
+            Map<String, Long> offsets = new HashMap<>();
+            for (Map.Entry<String, Item> entry : items.entrySet()) {
+                offsets.put(entry.getKey(), temp.getFilePointer());
+                temp.write(encodeRecord(entry.getKey(), entry.getValue()));
+            }
+            long length = temp.getFilePointer();
+            temp.close();
+            temp = null;
+            if (!mIndexFile.delete() && mIndexFile.exists()) {
+                tempFile.delete();
+                return false;
+            }
+            if (!tempFile.renameTo(mIndexFile)) {
+                // 旧索引文件已删除, 清空偏移记录重新建立索引, 避免读取到错误位置
+                tempFile.delete();
+                mOffsetMaps.clear();
+                mIndexLength = 0L;
+                return false;
+            }
+            mOffsetMaps.clear();
+            mOffsetMaps.putAll(offsets);
+            mIndexLength = length;
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "compact");
+            return false;
+        } finally {
+            CloseUtils.closeIOQuietly(temp);
+        }
+    }
+
+    /**
+     * 关闭索引文件 ( 再次使用时自动打开 )
+     */
+    public synchronized void close() {
+        closeIndex();
+    }
+
+    /**
+     * 获取缓存文件数量
+     * @return 缓存文件数量
+     */
+    public synchronized int size() {
+        return (mIndexFile != null) ? mOffsetMaps.size() : mMemoryMaps.size();
+    }
+
+    /**
+     * 获取命中次数
+     * @return 命中次数
+     */
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * 获取未命中次数
+     * @return 未命中次数
+     */
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    // ==========
+    // = 内部处理 =
+    // ==========
+
+    /**
+     * 转换摘要结果
+     * @param item       文件指纹信息
+     * @param algorithms 算法
+     * @return {@link FileDigestUtils.DigestResult}
+     */
+    private static FileDigestUtils.DigestResult toResult(
+            final Item item,
+            final String[] algorithms
+    ) {
+        FileDigestUtils.DigestResult result = new FileDigestUtils.DigestResult(item.length);
+        for (String algorithm : algorithms) {
+            result.put(algorithm, item.digests.get(algorithm));
+        }
+        return result;
+    }
+
+    /**
+     * 获取文件指纹信息 ( 内存未命中则读取索引文件 )
+     * @param path 文件路径
+     * @return 文件指纹信息
+     */
+    private Item getItem(final String path) {
+        Item item = mMemoryMaps.get(path);
+        if (item != null) return item;
+        Long offset = mOffsetMaps.get(path);
+        if (offset == null) return null;
+        try {
+            RandomAccessFile access = openIndex();
+            access.seek(offset);
+            int    recordLength = access.readInt();
+            byte[] record       = new byte[recordLength];
+            access.readFully(record);
+            item = decodeItem(ByteBuffer.wrap(record));
+            if (item != null) {
+                mMemoryMaps.put(path, item);
+            }
+            return item;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getItem");
+        }
+        return null;
+    }
+
+    /**
+     * 保存文件指纹信息
+     * @param path 文件路径
+     * @param item 文件指纹信息
+     */
+    private void putItem(
+            final String path,
+            final Item item
+    ) {
+        mMemoryMaps.put(path, item);
+        long offset = appendRecord(path, item);
+        if (offset >= 0L) {
+            mOffsetMaps.put(path, offset);
+        }
+    }
+
+    /**
+     * 追加写入记录
+     * @param path 文件路径
+     * @param item 文件指纹信息
+     * @return 记录偏移, 失败则返回 -1
+     */
+    private long appendRecord(
+            final String path,
+            final Item item
+    ) {
+        if (mIndexFile == null) return -1L;
+        try {
+            RandomAccessFile access = openIndex();
+            long             offset = mIndexLength;
+            byte[]           record = encodeRecord(path, item);
+            access.seek(offset);
+            access.write(record);
+            mIndexLength = offset + record.length;
+            return offset;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "appendRecord");
+        }
+        return -1L;
+    }
+
+    /**
+     * 打开索引文件
+     * @return {@link RandomAccessFile}
+     * @throws IOException 打开失败
+     */
+    private RandomAccessFile openIndex()
+            throws IOException {
+        if (mIndexAccess == null) {
+            File parent = mIndexFile.getParentFile();
+            if (parent != null && !parent.exists()) {
+                parent.mkdirs();
+            }
+            mIndexAccess = new RandomAccessFile(mIndexFile, "rw");
+            if (mIndexLength < HEADER_LENGTH) {
+                mIndexAccess.setLength(0L);
+                writeHeader(mIndexAccess);
+                mIndexLength = HEADER_LENGTH;
+            } else if (mIndexAccess.length() > mIndexLength) {
+                // 移除末尾不完整记录
+                mIndexAccess.setLength(mIndexLength);
+            }
+        }
+        return mIndexAccess;
+    }
+
+    /**
+     * 关闭索引文件
+     */
+    private void closeIndex() {
+        CloseUtils.closeIOQuietly(mIndexAccess);
+        mIndexAccess = null;
+    }
+
+    /**
+     * 写入索引文件头
+     * @param access {@link RandomAccessFile}
+     * @throws IOException 写入失败
+     */
+    private static void writeHeader(final RandomAccessFile access)
+            throws IOException {
+        access.seek(0L);
+        access.writeInt(MAGIC);
+        access.writeInt(VERSION);
+    }
+
+    /**
+     * 加载索引文件 ( 记录每个路径最新记录偏移 )
+     */
+    private void loadIndex() {
+        if (mIndexFile == null || !mIndexFile.isFile()) return;
+        RandomAccessFile access = null;
+        try {
+            access = new RandomAccessFile(mIndexFile, "r");
+            FileChannel      channel = access.getChannel();
+            MappedByteBuffer buffer  = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+            if (buffer.remaining() < HEADER_LENGTH
+                    || buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                return;
+            }
+            long validLength = HEADER_LENGTH;
+            while (buffer.remaining() >= 4) {
+                int offset       = buffer.position();
+                int recordLength = buffer.getInt();
+                if (recordLength <= 0 || recordLength > buffer.remaining()) break;
+                ByteBuffer record = buffer.slice();
+                record.limit(recordLength);
+                buffer.position(offset + 4 + recordLength);
+                // 只解析路径及大小, 摘要值使用时再读取
+                byte[] pathBytes = new byte[record.getShort() & 0xFFFF];
+                record.get(pathBytes);
+                String path   = new String(pathBytes, CHARSET);
+                long   length = record.getLong();
+                if (length < 0L) {
+                    mOffsetMaps.remove(path);
+                } else {
+                    mOffsetMaps.put(path, (long) offset);
+                }
+                validLength = buffer.position();
+            }
+            mIndexLength = validLength;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "loadIndex");
+            mOffsetMaps.clear();
+            mIndexLength = 0L;
+        } finally {
+            CloseUtils.closeIOQuietly(access);
+        }
+    }
+
+    /**
+     * 编码记录
+     * <pre>
+     *     [int 记录长度][short 路径长度][路径][long 大小][long 修改时间][byte 算法数量]
+     *     { [byte 算法名长度][算法名][short 摘要值长度][摘要值] }
+     * </pre>
+     * @param path 文件路径
+     * @param item 文件指纹信息
+     * @return 记录 byte[]
+     * @throws IOException 编码失败
+     */
+    private static byte[] encodeRecord(
+            final String path,
+            final Item item
+    )
+            throws IOException {
+        ByteArrayOutputStream baos  = new ByteArrayOutputStream();
+        DataOutputStream      dos   = new DataOutputStream(baos);
+        byte[]                bytes = path.getBytes(CHARSET);
+        dos.writeShort(bytes.length);
+        dos.write(bytes);
+        dos.writeLong(item.length);
+        dos.writeLong(item.lastModified);
+        dos.writeByte(item.digests.size());
+        for (Map.Entry<String, byte[]> entry : item.digests.entrySet()) {
+            byte[] name = entry.getKey().getBytes(CHARSET);
+            dos.writeByte(name.length);
+            dos.write(name);
+            dos.writeShort(entry.getValue().length);
+            dos.write(entry.getValue());
+        }
+        dos.flush();
+        byte[]     body   = baos.toByteArray();
+        ByteBuffer record = ByteBuffer.allocate(4 + body.length);
+        record.putInt(body.length);
+        record.put(body);
+        return record.array();
+    }
+
+    /**
+     * 解码记录
+     * @param record 记录数据 ( 不包含记录长度 )
+     * @return 文件指纹信息
+     */
+    private static Item decodeItem(final ByteBuffer record) {
+        byte[] pathBytes = new byte[record.getShort() & 0xFFFF];
+        record.get(pathBytes);
+        long length       = record.getLong();
+        long lastModified = record.getLong();
+        if (length < 0L) return null;
+        int                 count   = record.get() & 0xFF;
+        Map<String, byte[]> digests = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[record.get() & 0xFF];
+            record.get(name);
+            byte[] digest = new byte[record.getShort() & 0xFFFF];
+            record.get(digest);
+            digests.put(new String(name, CHARSET), digest);
+        }
+        return new Item(length, lastModified, digests);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,325 @@
+package dev.utils.common.file;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import dev.utils.JCLogUtils;
+
+/**
+ * detail: 目录大小计算工具类 ( ForkJoin 并行 + 缓存 )
+ * @author Ttt
+ * <pre>
+ *     每个目录为一个 ForkJoin 任务, 通过 File.listFiles 遍历直属文件, 子目录 fork 给空闲线程处理
+ *     ( java.nio.file 需要 Android API 26, 不支持 ForkJoinPool ( Android API 21 ) 时使用单线程递归计算 )
+ *     <p></p>
+ *     可传入 {@link DirLengthCache} 缓存目录信息 ( key 为目录路径, 以目录修改时间校验 )
+ *     目录修改时间未变化时直接使用缓存的直属文件大小, 只需读取子目录属性, 不再遍历该目录
+ *     注意: 修改已存在文件内容 ( 如追加写入 ) 不会改变目录修改时间, 此类场景需自行 remove / clear 缓存
+ *     <p></p>
+ *     跟随符号链接, 通过上级目录规范路径检测循环链接, 指向上级目录的链接不再重复计算
+ * </pre>
+ */
+public final class FileLengthUtils {
+
+    private FileLengthUtils() {
+    }
+
+    // 日志 TAG
+    private static final String TAG = FileLengthUtils.class.getSimpleName();
+
+    /**
+     * 获取默认并发数量
+     * @return CPU 核心数
+     */
+    public static int getDefaultParallelism() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 获取目录全部文件大小 ( 并行计算 )
+     * @param dir 目录
+     * @return 目录全部文件大小
+     */
+    public static long getDirLength(final File dir) {
+        return getDirLength(dir, getDefaultParallelism(), null);
+    }
+
+    /**
+     * 获取目录全部文件大小 ( 并行计算 )
+     * @param dir   目录
+     * @param cache 目录大小缓存 ( 可为 null )
+     * @return 目录全部文件大小
+     */
+    public static long getDirLength(
+            final File dir,
+            final DirLengthCache cache
+    ) {
+        return getDirLength(dir, getDefaultParallelism(), cache);
+    }
+
+    /**
+     * 获取目录全部文件大小 ( 并行计算 )
+     * @param dir         目录
+     * @param parallelism 并发数量
+     * @param cache       目录大小缓存 ( 可为 null )
+     * @return 目录全部文件大小
+     */
+    public static long getDirLength(
+            final File dir,
+            final int parallelism,
+            final DirLengthCache cache
+    ) {
+        if (dir == null || !dir.isDirectory()) return 0L;
+        ForkJoinPool pool;
+        try {
+            pool = new ForkJoinPool(Math.max(1, parallelism));
+        } catch (LinkageError e) {
+            // 不支持 ForkJoinPool 则单线程递归计算
+            return getDirLengthSequential(dir, cache, null);
+        }
+        try {
+            return pool.invoke(new DirLengthTask(dir, cache, null));
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getDirLength");
+        } finally {
+            pool.shutdown();
+        }
+        return 0L;
+    }
+
+    // ==========
+    // = 内部实现 =
+    // ==========
+
+    /**
+     * 单线程递归计算目录全部文件大小
+     * @param dir     目录
+     * @param cache   目录大小缓存 ( 可为 null )
+     * @param parents 上级目录规范路径
+     * @return 目录全部文件大小
+     */
+    private static long getDirLengthSequential(
+            final File dir,
+            final DirLengthCache cache,
+            final DirPath parents
+    ) {
+        DirPath current = DirPath.enter(dir, parents);
+        if (current == null) return 0L;
+        DirEntry entry = readDir(dir, cache);
+        long     len   = entry.filesLength;
+        for (File subDir : entry.subDirs) {
+            len += getDirLengthSequential(subDir, cache, current);
+        }
+        return len;
+    }
+
+    /**
+     * 读取目录信息 ( 目录修改时间未变化时使用缓存 )
+     * @param dir   目录
+     * @param cache 目录大小缓存 ( 可为 null )
+     * @return {@link DirEntry}
+     */
+    private static DirEntry readDir(
+            final File dir,
+            final DirLengthCache cache
+    ) {
+        String   key          = dir.getAbsolutePath();
+        long     lastModified = dir.lastModified();
+        DirEntry entry        = (cache != null) ? cache.get(key) : null;
+        if (entry != null && entry.lastModified == lastModified) {
+            return entry;
+        }
+        // 直属文件大小
+        long       filesLength = 0L;
+        // 子目录
+        List<File> subDirs     = new ArrayList<>();
+        File[]     files       = dir.listFiles();
+        if (files == null) {
+            // 无法读取则不缓存
+            return new DirEntry(lastModified, filesLength, subDirs);
+        }
+        for (File file : files) {
+            if (file.isDirectory()) {
+                subDirs.add(file);
+            } else {
+                filesLength += file.length();
+            }
+        }
+        entry = new DirEntry(lastModified, filesLength, subDirs);
+        if (cache != null) {
+            cache.put(key, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * detail: 目录大小计算任务
+     * @author Ttt
+     */
+    private static final class DirLengthTask
+            extends RecursiveTask<Long> {
+
+        private static final long serialVersionUID = -6028754132587160394L;
+
+        // 目录
+        private final File           dir;
+        // 目录大小缓存
+        private final DirLengthCache cache;
+        // 上级目录规范路径
+        private final DirPath        parents;
+
+        DirLengthTask(
+                final File dir,
+                final DirLengthCache cache,
+                final DirPath parents
+        ) {
+            this.dir     = dir;
+            this.cache   = cache;
+            this.parents = parents;
+        }
+
+        @Override
+        protected Long compute() {
+            DirPath current = DirPath.enter(dir, parents);
+            if (current == null) return 0L;
+            DirEntry entry = readDir(dir, cache);
+            // 子目录并行计算
+            List<DirLengthTask> tasks = new ArrayList<>(entry.subDirs.size());
+            for (File subDir : entry.subDirs) {
+                DirLengthTask task = new DirLengthTask(subDir, cache, current);
+                task.fork();
+                tasks.add(task);
+            }
+            long len = entry.filesLength;
+            for (DirLengthTask task : tasks) {
+                len += task.join();
+            }
+            return len;
+        }
+    }
+
+    /**
+     * detail: 上级目录规范路径 ( 用于检测循环链接 )
+     * @author Ttt
+     */
+    private static final class DirPath {
+
+        // 目录规范路径
+        private final String  path;
+        // 上级目录
+        private final DirPath parent;
+
+        private DirPath(
+                final String path,
+                final DirPath parent
+        ) {
+            this.path   = path;
+            this.parent = parent;
+        }
+
+        /**
+         * 进入目录
+         * @param dir     目录
+         * @param parents 上级目录规范路径
+         * @return 当前目录规范路径, 属于循环链接则返回 null
+         */
+        static DirPath enter(
+                final File dir,
+                final DirPath parents
+        ) {
+            String path;
+            try {
+                path = dir.getCanonicalPath();
+            } catch (IOException e) {
+                path = dir.getAbsolutePath();
+            }
+            for (DirPath item = parents; item != null; item = item.parent) {
+                if (item.path.equals(path)) return null;
+            }
+            return new DirPath(path, parents);
+        }
+    }
+
+    /**
+     * detail: 目录缓存信息
+     * @author Ttt
+     */
+    private static final class DirEntry {
+
+        // 目录修改时间
+        private final long       lastModified;
+        // 直属文件大小
+        private final long       filesLength;
+        // 子目录
+        private final List<File> subDirs;
+
+        DirEntry(
+                final long lastModified,
+                final long filesLength,
+                final List<File> subDirs
+        ) {
+            this.lastModified = lastModified;
+            this.filesLength  = filesLength;
+            this.subDirs      = subDirs;
+        }
+    }
+
+    /**
+     * detail: 目录大小缓存
+     * @author Ttt
+     * <pre>
+     *     线程安全, 可多次查询共用同一个对象
+     * </pre>
+     */
+    public static final class DirLengthCache {
+
+        // 缓存数据 ( key 为目录绝对路径 )
+        private final Map<String, DirEntry> mCacheMaps = new ConcurrentHashMap<>();
+
+        private DirEntry get(final String dirPath) {
+            return mCacheMaps.get(dirPath);
+        }
+
+        private void put(
+                final String dirPath,
+                final DirEntry entry
+        ) {
+            mCacheMaps.put(dirPath, entry);
+        }
+
+        /**
+         * 移除指定目录缓存
+         * @param dir 目录
+         * @return {@link DirLengthCache}
+         */
+        public DirLengthCache remove(final File dir) {
+            if (dir != null) {
+                mCacheMaps.remove(dir.getAbsolutePath());
+            }
+            return this;
+        }
+
+        /**
+         * 清空全部缓存
+         * @return {@link DirLengthCache}
+         */
+        public DirLengthCache clear() {
+            mCacheMaps.clear();
+            return this;
+        }
+
+        /**
+         * 获取缓存目录数量
+         * @return 缓存目录数量
+         */
+        public int size() {
+            return mCacheMaps.size();
+        }
+    }
+}
\ No newline at end of file
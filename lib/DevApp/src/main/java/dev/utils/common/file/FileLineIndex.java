@@ -0,0 +1,395 @@
+package dev.utils.common.file;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.StringUtils;
+
+/**
+ * detail: 文件行偏移索引 ( 稀疏索引 )
+ * @author Ttt
+ * <pre>
+ *     通过 MappedByteBuffer 扫描文件, 每隔 interval 行记录一次行开始字节位置
+ *     读取指定行范围时直接定位到最近的记录位置, 无需从文件头开始读取
+ *     换行符与 {@link BufferedReader#readLine()} 一致 ( \n、\r、\r\n )
+ *     <p></p>
+ *     索引按需扫描 ( 只扫描到需要读取的行 ), 文件追加内容后可调用 {@link #append()} 继续扫描
+ *     {@link #get(File)} 按文件缓存索引, 文件大小或修改时间变化则重新创建
+ *     只支持 \n、\r 为单字节的编码 ( UTF-8、GBK 等 ), 可通过 {@link #isSupportCharset(String)} 判断
+ * </pre>
+ */
+public final class FileLineIndex {
+
+    // 日志 TAG
+    private static final String TAG              = FileLineIndex.class.getSimpleName();
+    // 默认索引间隔行数
+    public static final  int    DEFAULT_INTERVAL = 1024;
+    // 单次映射大小 ( 8mb )
+    private static final int    MAP_SIZE         = 8388608;
+    // 缓存索引最大数量
+    private static final int    CACHE_MAX        = 16;
+
+    // 索引缓存 ( key 为文件路径 )
+    private static final Map<String, FileLineIndex> sIndexMaps = new LinkedHashMap<String, FileLineIndex>(
+            CACHE_MAX, 0.75f, true
+    ) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, FileLineIndex> eldest) {
+            return size() > CACHE_MAX;
+        }
+    };
+
+    // 文件
+    private final File    mFile;
+    // 索引间隔行数
+    private final int     mInterval;
+    // 行开始字节位置 ( 第 1、1 + interval、1 + 2 * interval ... 行 )
+    private long[]        mCheckpoints = new long[16];
+    // 记录位置数量
+    private int           mCheckpointCount;
+    // 已扫描行数
+    private long          mLineCount;
+    // 已扫描字节数
+    private long          mIndexedLength;
+    // 下一字节是否为行开始
+    private boolean       mLineStart   = true;
+    // 上一字节是否为 \r
+    private boolean       mPendingCR;
+    // 文件大小 ( 用于判断文件是否变化 )
+    private long          mLength;
+    // 文件修改时间 ( 用于判断文件是否变化 )
+    private long          mLastModified;
+
+    /**
+     * 构造函数
+     * @param file 文件
+     */
+    public FileLineIndex(final File file) {
+        this(file, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * 构造函数
+     * @param file     文件
+     * @param interval 索引间隔行数
+     */
+    public FileLineIndex(
+            final File file,
+            final int interval
+    ) {
+        this.mFile         = file;
+        this.mInterval     = Math.max(1, interval);
+        this.mLength       = file.length();
+        this.mLastModified = file.lastModified();
+    }
+
+    /**
+     * 构造函数 ( 通过 {@link FileLineCounter} 统计结果创建 )
+     * @param file          文件
+     * @param interval      索引间隔行数
+     * @param checkpoints   行开始字节位置
+     * @param lineCount     已扫描行数
+     * @param indexedLength 已扫描字节数
+     * @param lineStart     下一字节是否为行开始
+     * @param pendingCR     最后字节是否为 \r
+     */
+    FileLineIndex(
+            final File file,
+            final int interval,
+            final long[] checkpoints,
+            final long lineCount,
+            final long indexedLength,
+            final boolean lineStart,
+            final boolean pendingCR
+    ) {
+        this(file, interval);
+        this.mCheckpoints     = checkpoints.length == 0 ? new long[16] : checkpoints.clone();
+        this.mCheckpointCount = checkpoints.length;
+        this.mLineCount       = lineCount;
+        this.mIndexedLength   = indexedLength;
+        this.mLineStart       = lineStart;
+        this.mPendingCR       = pendingCR;
+    }
+
+    // ============
+    // = 索引缓存 =
+    // ============
+
+    /**
+     * 获取文件行偏移索引 ( 文件变化则重新创建 )
+     * @param file 文件
+     * @return {@link FileLineIndex}
+     */
+    public static FileLineIndex get(final File file) {
+        return get(file, false);
+    }
+
+    /**
+     * 获取文件行偏移索引
+     * @param file       文件
+     * @param appendOnly 文件是否只追加写入 ( true 文件变大时保留已有索引继续扫描 )
+     * @return {@link FileLineIndex}
+     */
+    public static FileLineIndex get(
+            final File file,
+            final boolean appendOnly
+    ) {
+        if (file == null || !file.isFile()) return null;
+        String path = file.getAbsolutePath();
+        synchronized (sIndexMaps) {
+            FileLineIndex index = sIndexMaps.get(path);
+            if (index != null && index.validate(appendOnly)) return index;
+            index = new FileLineIndex(file);
+            sIndexMaps.put(path, index);
+            return index;
+        }
+    }
+
+    /**
+     * 添加文件行偏移索引缓存
+     * @param index {@link FileLineIndex}
+     */
+    static void put(final FileLineIndex index) {
+        if (index == null) return;
+        synchronized (sIndexMaps) {
+            sIndexMaps.put(index.mFile.getAbsolutePath(), index);
+        }
+    }
+
+    /**
+     * 移除文件行偏移索引缓存
+     * @param file 文件
+     */
+    public static void remove(final File file) {
+        if (file == null) return;
+        synchronized (sIndexMaps) {
+            sIndexMaps.remove(file.getAbsolutePath());
+        }
+    }
+
+    /**
+     * 清空文件行偏移索引缓存
+     */
+    public static void clear() {
+        synchronized (sIndexMaps) {
+            sIndexMaps.clear();
+        }
+    }
+
+    /**
+     * 是否支持该编码 ( \n、\r 为单字节 )
+     * @param charsetName 字符编码 ( 为 null 则为默认编码 )
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isSupportCharset(final String charsetName) {
+        try {
+            Charset charset = StringUtils.isEmpty(charsetName)
+                    ? Charset.defaultCharset() : Charset.forName(charsetName);
+            return Arrays.equals("\n".getBytes(charset), new byte[]{'\n'})
+                    && Arrays.equals("\r".getBytes(charset), new byte[]{'\r'});
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取文件
+     * @return 文件
+     */
+    public File getFile() {
+        return mFile;
+    }
+
+    /**
+     * 获取已扫描字节数
+     * @return 已扫描字节数
+     */
+    public synchronized long getIndexedLength() {
+        return mIndexedLength;
+    }
+
+    /**
+     * 获取文件总行数 ( 扫描到文件结尾 )
+     * @return 文件总行数, 失败则返回 -1
+     */
+    public synchronized long getLineCount() {
+        if (!scan(Long.MAX_VALUE)) return -1L;
+        return mLineCount;
+    }
+
+    /**
+     * 扫描文件追加内容
+     * @return {@code true} success, {@code false} fail ( 文件变小需重新创建索引 )
+     */
+    public synchronized boolean append() {
+        if (mFile.length() < mIndexedLength) return false;
+        mLength       = mFile.length();
+        mLastModified = mFile.lastModified();
+        return scan(Long.MAX_VALUE);
+    }
+
+    /**
+     * 读取指定行范围内容
+     * @param start       开始行 ( 从 1 开始 )
+     * @param end         结束行 ( 包含 )
+     * @param charsetName 字符编码
+     * @return 换行 {@link List<String>}
+     */
+    public List<String> readLines(
+            final int start,
+            final int end,
+            final String charsetName
+    ) {
+        if (start > end) return null;
+        int          first = Math.max(1, start);
+        List<String> list  = new ArrayList<>();
+        if (end < first) return list;
+        long offset;
+        long skip;
+        synchronized (this) {
+            if (!scan(first)) return null;
+            if (mLineCount < first) return list;
+            int index = (first - 1) / mInterval;
+            offset = mCheckpoints[index];
+            skip   = (first - 1) - (long) index * mInterval;
+        }
+        FileInputStream fis = null;
+        BufferedReader  br  = null;
+        try {
+            fis = new FileInputStream(mFile);
+            fis.getChannel().position(offset);
+            if (StringUtils.isEmpty(charsetName)) {
+                br = new BufferedReader(new InputStreamReader(fis));
+            } else {
+                br = new BufferedReader(new InputStreamReader(fis, charsetName));
+            }
+            String line;
+            for (long i = 0; i < skip; i++) {
+                if (br.readLine() == null) return list;
+            }
+            int count = end - first + 1;
+            while (list.size() < count && (line = br.readLine()) != null) {
+                list.add(line);
+            }
+            return list;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "readLines");
+            return null;
+        } finally {
+            CloseUtils.closeIOQuietly(br, fis);
+        }
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    /**
+     * 校验索引是否可用
+     * @param appendOnly 文件是否只追加写入
+     * @return {@code true} 可用, {@code false} 需重新创建
+     */
+    private synchronized boolean validate(final boolean appendOnly) {
+        long length       = mFile.length();
+        long lastModified = mFile.lastModified();
+        if (length == mLength && lastModified == mLastModified) return true;
+        if (appendOnly && length >= mIndexedLength) {
+            mLength       = length;
+            mLastModified = lastModified;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 扫描文件直到指定行或文件结尾
+     * @param targetLine 需扫描到的行 ( 从 1 开始 )
+     * @return {@code true} success, {@code false} fail
+     */
+    private boolean scan(final long targetLine) {
+        if (mLineCount >= targetLine) return true;
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(mFile, "r");
+            FileChannel channel = raf.getChannel();
+            long        size    = channel.size();
+            while (mLineCount < targetLine && mIndexedLength < size) {
+                int length = (int) Math.min(MAP_SIZE, size - mIndexedLength);
+                scanBuffer(channel.map(FileChannel.MapMode.READ_ONLY, mIndexedLength, length), length);
+            }
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "scan");
+            return false;
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+    }
+
+    /**
+     * 扫描映射数据
+     * @param buffer {@link MappedByteBuffer}
+     * @param length 映射大小
+     */
+    private void scanBuffer(
+            final MappedByteBuffer buffer,
+            final int length
+    ) {
+        long    base      = mIndexedLength;
+        boolean lineStart = mLineStart;
+        boolean pendingCR = mPendingCR;
+        for (int i = 0; i < length; i++) {
+            byte value = buffer.get(i);
+            if (pendingCR) {
+                pendingCR = false;
+                // \r\n 作为一个换行符
+                if (value == '\n') {
+                    lineStart = true;
+                    continue;
+                }
+                lineStart = true;
+            }
+            if (lineStart) {
+                lineStart = false;
+                if (mLineCount % mInterval == 0) addCheckpoint(base + i);
+                mLineCount++;
+            }
+            if (value == '\n') {
+                lineStart = true;
+            } else if (value == '\r') {
+                pendingCR = true;
+            }
+        }
+        mIndexedLength = base + length;
+        mLineStart     = lineStart;
+        mPendingCR     = pendingCR;
+    }
+
+    /**
+     * 添加行开始字节位置
+     * @param offset 行开始字节位置
+     */
+    private void addCheckpoint(final long offset) {
+        if (mCheckpointCount == mCheckpoints.length) {
+            mCheckpoints = Arrays.copyOf(mCheckpoints, mCheckpointCount << 1);
+        }
+        mCheckpoints[mCheckpointCount++] = offset;
+    }
+}
\ No newline at end of file
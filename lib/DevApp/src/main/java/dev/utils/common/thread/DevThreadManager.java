@@ -1,8 +1,14 @@
 package dev.utils.common.thread;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * detail: 线程池管理工具类
@@ -14,18 +20,24 @@ public final class DevThreadManager {
     }
 
     // 默认通用线程池 ( 通过 CPU 自动处理 )
-    private static final DevThreadPool              sDevThreadPool = new DevThreadPool(DevThreadPool.DevThreadPoolType.CALC_CPU);
-    // 线程池数据
-    private static final Map<String, DevThreadPool> sThreadMaps    = new LinkedHashMap<>();
-    // 配置数据
-    private static final Map<String, Object>        sConfigMaps    = new HashMap<>();
+    private static final DevThreadPool                        sDevThreadPool = new DevThreadPool(DevThreadPool.DevThreadPoolType.CALC_CPU);
+    // 线程池数据 ( 读取无锁, 创建时加锁 )
+    private static final ConcurrentMap<String, DevThreadPool> sThreadMaps    = new ConcurrentHashMap<>();
+    // 配置数据 ( 只读快照, 修改时整体替换 )
+    private static volatile Map<String, Object>               sConfigMaps    = Collections.emptyMap();
+    // 创建线程池、修改配置锁
+    private static final Object                               sLock          = new Object();
+    // 默认通用线程池统计 key
+    public static final String                                DEFAULT_KEY    = "default";
+    // 是否开启统计
+    private static volatile boolean                           sMetricsEnabled;
 
     /**
      * 获取 DevThreadManager 实例
      * @param threadNumber 线程数量
      * @return {@link DevThreadPool}
      */
-    public static synchronized DevThreadPool getInstance(final int threadNumber) {
+    public static DevThreadPool getInstance(final int threadNumber) {
         // 初始化 key
         String key = "n_" + threadNumber;
         // 如果不为 null, 则直接返回
@@ -33,51 +45,193 @@ public final class DevThreadManager {
         if (devThreadPool != null) {
             return devThreadPool;
         }
-        devThreadPool = new DevThreadPool(threadNumber);
-        sThreadMaps.put(key, devThreadPool);
-        return devThreadPool;
+        synchronized (sLock) {
+            devThreadPool = sThreadMaps.get(key);
+            if (devThreadPool == null) {
+                devThreadPool = new DevThreadPool(threadNumber).setMetricsEnabled(sMetricsEnabled);
+                sThreadMaps.put(key, devThreadPool);
+            }
+            return devThreadPool;
+        }
     }
 
     /**
      * 获取 DevThreadManager 实例
-     * @param key 线程配置 key {@link DevThreadPool.DevThreadPoolType} or int-Integer
+     * @param key 线程配置 key {@link DevThreadPool.DevThreadPoolType}、{@link DevThreadPool.Config} or int-Integer
      * @return {@link DevThreadPool}
      */
-    public static synchronized DevThreadPool getInstance(final String key) {
+    public static DevThreadPool getInstance(final String key) {
+        if (key == null) return sDevThreadPool;
         // 如果不为 null, 则直接返回
         DevThreadPool devThreadPool = sThreadMaps.get(key);
         if (devThreadPool != null) {
             return devThreadPool;
         }
-        Object object = sConfigMaps.get(key);
-        if (object != null) {
-            try {
-                // 判断是否属于线程池类型
-                if (object instanceof DevThreadPool.DevThreadPoolType) {
-                    devThreadPool = new DevThreadPool((DevThreadPool.DevThreadPoolType) object);
-                } else if (object instanceof Integer) {
-                    devThreadPool = new DevThreadPool((Integer) object);
-                } else { // 其他类型, 统一转换 Integer
-                    devThreadPool = new DevThreadPool(Integer.parseInt((String) object));
-                }
-                sThreadMaps.put(key, devThreadPool);
+        // 未配置则直接返回默认通用线程池 ( 读取配置快照, 无需加锁 )
+        if (sConfigMaps.get(key) == null) {
+            return sDevThreadPool;
+        }
+        synchronized (sLock) {
+            devThreadPool = sThreadMaps.get(key);
+            if (devThreadPool != null) {
                 return devThreadPool;
-            } catch (Exception e) {
-                return sDevThreadPool;
             }
+            Object object = sConfigMaps.get(key);
+            if (object != null) {
+                try {
+                    devThreadPool = createThreadPool(object).setMetricsEnabled(sMetricsEnabled);
+                    sThreadMaps.put(key, devThreadPool);
+                    return devThreadPool;
+                } catch (Exception e) {
+                    return sDevThreadPool;
+                }
+            }
+            return sDevThreadPool;
+        }
+    }
+
+    /**
+     * 通过配置创建线程池
+     * @param object 线程配置 value
+     * @return {@link DevThreadPool}
+     */
+    private static DevThreadPool createThreadPool(final Object object) {
+        // 判断是否属于线程池类型
+        if (object instanceof DevThreadPool.DevThreadPoolType) {
+            return new DevThreadPool((DevThreadPool.DevThreadPoolType) object);
+        } else if (object instanceof DevThreadPool.Config) {
+            return new DevThreadPool((DevThreadPool.Config) object);
+        } else if (object instanceof Integer) {
+            return new DevThreadPool((Integer) object);
+        } else { // 其他类型, 统一转换 Integer
+            return new DevThreadPool(Integer.parseInt((String) object));
         }
-        return sDevThreadPool;
+    }
+
+    // ==============
+    // = 线程池管理 =
+    // ==============
+
+    /**
+     * 移除并关闭线程池
+     * <pre>
+     *     已关闭的线程池会拒绝新任务, 移除后再次调用 getInstance 将重新创建
+     *     建议每次通过 getInstance 获取线程池, 而不是长期持有引用
+     * </pre>
+     * @param key 线程池 key ( 通过 {@link #getInstance(int)} 创建则为 n_ + 线程数量 )
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean evict(final String key) {
+        if (key == null) return false;
+        DevThreadPool devThreadPool = sThreadMaps.remove(key);
+        if (devThreadPool == null) return false;
+        devThreadPool.shutdown();
+        return true;
+    }
+
+    /**
+     * 移除并关闭空闲线程池
+     * @param idleTime 空闲时间
+     * @param unit     时间单位
+     * @return 移除的线程池 key 集合
+     */
+    public static List<String> shutdownIdle(
+            final long idleTime,
+            final TimeUnit unit
+    ) {
+        List<String> keys = new ArrayList<>();
+        if (unit == null) return keys;
+        long idleMillis = unit.toMillis(idleTime);
+        for (Map.Entry<String, DevThreadPool> entry : sThreadMaps.entrySet()) {
+            DevThreadPool devThreadPool = entry.getValue();
+            // 只移除仍为当前线程池的 key ( 防止移除并发重新创建的线程池 )
+            if (devThreadPool.isIdle(idleMillis) && sThreadMaps.remove(entry.getKey(), devThreadPool)) {
+                devThreadPool.shutdown();
+                keys.add(entry.getKey());
+            }
+        }
+        return keys;
+    }
+
+    /**
+     * 调整线程池线程数量 ( 只支持 ThreadPoolExecutor 类型线程池 )
+     * @param key             线程池 key
+     * @param corePoolSize    核心线程数
+     * @param maximumPoolSize 最大线程数
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean resize(
+            final String key,
+            final int corePoolSize,
+            final int maximumPoolSize
+    ) {
+        if (key == null) return false;
+        DevThreadPool devThreadPool = sThreadMaps.get(key);
+        return devThreadPool != null && devThreadPool.resize(corePoolSize, maximumPoolSize);
+    }
+
+    /**
+     * 获取已创建的线程池 key 集合
+     * @return 线程池 key 集合
+     */
+    public static List<String> getKeys() {
+        return new ArrayList<>(sThreadMaps.keySet());
+    }
+
+    // ============
+    // = 统计数据 =
+    // ============
+
+    /**
+     * 设置是否开启线程池统计 ( 包含已创建及后续创建的线程池 )
+     * @param enabled 是否开启统计
+     */
+    public static void setMetricsEnabled(final boolean enabled) {
+        synchronized (sLock) {
+            sMetricsEnabled = enabled;
+            sDevThreadPool.setMetricsEnabled(enabled);
+            for (DevThreadPool devThreadPool : sThreadMaps.values()) {
+                devThreadPool.setMetricsEnabled(enabled);
+            }
+        }
+    }
+
+    /**
+     * 是否开启线程池统计
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isMetricsEnabled() {
+        return sMetricsEnabled;
+    }
+
+    /**
+     * 获取全部线程池统计快照
+     * @return 统计快照 Map ( key 为线程池 key, 默认通用线程池为 {@link #DEFAULT_KEY} )
+     */
+    public static Map<String, DevThreadPoolMetrics.Snapshot> getMetrics() {
+        Map<String, DevThreadPoolMetrics.Snapshot> maps = new LinkedHashMap<>();
+        DevThreadPoolMetrics.Snapshot snapshot = sDevThreadPool.getMetrics();
+        if (snapshot != null) maps.put(DEFAULT_KEY, snapshot);
+        for (Map.Entry<String, DevThreadPool> entry : sThreadMaps.entrySet()) {
+            snapshot = entry.getValue().getMetrics();
+            if (snapshot != null) maps.put(entry.getKey(), snapshot);
+        }
+        return maps;
     }
 
     // =
 
     /**
-     * 初始化配置信息
+     * 初始化配置信息 ( 整体生效 )
      * @param mapConfigs 线程配置信息 Map
      */
     public static void initConfig(final Map<String, Object> mapConfigs) {
         if (mapConfigs != null) {
-            sConfigMaps.putAll(mapConfigs);
+            synchronized (sLock) {
+                Map<String, Object> maps = new HashMap<>(sConfigMaps);
+                maps.putAll(mapConfigs);
+                sConfigMaps = Collections.unmodifiableMap(maps);
+            }
         }
     }
 
@@ -90,7 +244,11 @@ public final class DevThreadManager {
             final String key,
             final Object value
     ) {
-        sConfigMaps.put(key, value);
+        synchronized (sLock) {
+            Map<String, Object> maps = new HashMap<>(sConfigMaps);
+            maps.put(key, value);
+            sConfigMaps = Collections.unmodifiableMap(maps);
+        }
     }
 
     /**
@@ -98,6 +256,10 @@ public final class DevThreadManager {
      * @param key 线程配置 key
      */
     public static void removeConfig(final String key) {
-        sConfigMaps.remove(key);
+        synchronized (sLock) {
+            Map<String, Object> maps = new HashMap<>(sConfigMaps);
+            maps.remove(key);
+            sConfigMaps = Collections.unmodifiableMap(maps);
+        }
     }
 }
\ No newline at end of file
@@ -3,15 +3,20 @@ package dev.utils.common.thread;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * detail: 线程池 ( 构建类 )
@@ -37,10 +42,20 @@ import java.util.concurrent.TimeoutException;
  */
 public final class DevThreadPool {
 
+    // 空任务 ( 定时任务移交后用于创建工作线程 )
+    private static final Runnable NOOP = () -> {
+    };
+
     // 线程池对象
-    private final ExecutorService          mThreadPool;
-    // 定时任务线程池
-    private       ScheduledExecutorService mScheduleExec;
+    private final    ExecutorService          mThreadPool;
+    // 线程池统计数据 ( 未开启统计为 null )
+    private volatile DevThreadPoolMetrics     mMetrics;
+    // 开启统计前拒绝策略
+    private          RejectedExecutionHandler mRejectedHandler;
+    // 最后提交任务时间
+    private volatile long                     mLastActiveTime = System.currentTimeMillis();
+    // 未结束的定时任务数量
+    private final    AtomicInteger            mScheduledCount = new AtomicInteger();
 
     /**
      * 构造函数
@@ -52,8 +67,6 @@ public final class DevThreadPool {
             threadNumber = 1;
         }
         this.mThreadPool = Executors.newFixedThreadPool(threadNumber);
-        // 初始化定时器任务
-        this.mScheduleExec = Executors.newScheduledThreadPool(threadNumber);
     }
 
     /**
@@ -62,8 +75,14 @@ public final class DevThreadPool {
      */
     public DevThreadPool(final ExecutorService threadPool) {
         this.mThreadPool = threadPool;
-        // 初始化定时器任务
-        this.mScheduleExec = Executors.newScheduledThreadPool(getThreads());
+    }
+
+    /**
+     * 构造函数
+     * @param config 有界线程池配置 {@link Config}
+     */
+    public DevThreadPool(final Config config) {
+        this.mThreadPool = (config != null ? config : new Config()).build();
     }
 
     /**
@@ -71,25 +90,28 @@ public final class DevThreadPool {
      * @param devThreadPoolType 线程初始化类型 {@link DevThreadPoolType}
      */
     public DevThreadPool(final DevThreadPoolType devThreadPoolType) {
-        // 初始化定时器任务
-        this.mScheduleExec = Executors.newScheduledThreadPool(getThreads());
-        // =
         if (devThreadPoolType != null) {
             switch (devThreadPoolType) {
                 case SINGLE:
                     mThreadPool = Executors.newSingleThreadExecutor();
-                    // 初始化定时器任务
-                    this.mScheduleExec = Executors.newScheduledThreadPool(1);
                     break;
-//                case AUTO_CPU:
-//                    mThreadPool = Executors.newWorkStealingPool();
-//                    break;
+                case AUTO_CPU:
+                    mThreadPool = newWorkStealingPool();
+                    break;
                 case CALC_CPU:
                     mThreadPool = Executors.newFixedThreadPool(getThreads());
                     break;
                 case CACHE:
                     mThreadPool = Executors.newCachedThreadPool();
                     break;
+                case BOUNDED:
+                    mThreadPool = new Config().build();
+                    break;
+                case VIRTUAL:
+                    ExecutorService virtualPool = newVirtualThreadPool();
+                    // 不支持虚拟线程则使用可缓存线程池
+                    mThreadPool = virtualPool != null ? virtualPool : Executors.newCachedThreadPool();
+                    break;
                 default:
                     mThreadPool = Executors.newFixedThreadPool(getThreads());
                     break;
@@ -112,12 +134,16 @@ public final class DevThreadPool {
         // 如果当前线程意外终止, 会创建一个新线程继续执行任务, 这和我们直接创建线程不同, 也和 newFixedThreadPool(1) 不同
         SINGLE, // newSingleThreadExecutor 获取的是一个单个的线程, 这个线程会保证你的任务执行完成
 
-        AUTO_CPU, // 根据 CPU 来创建 ( 自定义创建 )
+        AUTO_CPU, // 根据 CPU 来创建 ( ForkJoinPool 工作窃取线程池, 不支持则使用固定线程数线程池 )
 
         CALC_CPU, // 手动计算 CPU 来创建
 
         CACHE, // 可缓存线程池
 
+        BOUNDED, // 有界队列线程池 ( 默认 Config 配置, 队列满时调用者线程执行 )
+
+        VIRTUAL, // 每个任务一个虚拟线程 ( 运行环境不支持则使用可缓存线程池 )
+
 //        1 newCachedThreadPool: 创建一个可缓存线程池, 如果线程池长度超过处理需要, 可灵活回收空闲线程, 若无可回收, 则新建线程
 //        2 newFixedThreadPool: 创建一个固定数目的、可重用的线程池
 //        3 newScheduledThreadPool: 创建一个定长线程池, 支持定时及周期性任务执行
@@ -128,6 +154,186 @@ public final class DevThreadPool {
 //        7 ForkJoinPool: 支持大任务分解成小任务的线程池, 这是 Java8 新增线程池, 通常配合 ForkJoinTask 接口的子类 RecursiveAction 或 RecursiveTask 使用
     }
 
+    /**
+     * detail: 有界线程池队列满时拒绝策略
+     * @author Ttt
+     */
+    public enum RejectPolicy {
+
+        CALLER_RUNS, // 调用者线程执行任务
+
+        DROP, // 丢弃任务
+
+        BLOCK, // 阻塞调用者线程直到队列有空位
+    }
+
+    /**
+     * detail: 有界线程池配置
+     * @author Ttt
+     * <pre>
+     *     new DevThreadPool(new DevThreadPool.Config()
+     *             .setCorePoolSize(4).setMaximumPoolSize(8)
+     *             .setQueueCapacity(256).setRejectPolicy(DevThreadPool.RejectPolicy.BLOCK)
+     *     );
+     * </pre>
+     */
+    public static final class Config {
+
+        // 核心线程数
+        private int          mCorePoolSize    = getThreads();
+        // 最大线程数
+        private int          mMaximumPoolSize = getThreads();
+        // 空闲线程存活时间 ( 毫秒 )
+        private long         mKeepAliveTime   = 60000L;
+        // 队列容量
+        private int          mQueueCapacity   = 1024;
+        // 队列满时拒绝策略
+        private RejectPolicy mRejectPolicy    = RejectPolicy.CALLER_RUNS;
+
+        /**
+         * 设置核心线程数
+         * @param corePoolSize 核心线程数
+         * @return {@link Config}
+         */
+        public Config setCorePoolSize(final int corePoolSize) {
+            this.mCorePoolSize = Math.max(1, corePoolSize);
+            return this;
+        }
+
+        /**
+         * 设置最大线程数
+         * @param maximumPoolSize 最大线程数
+         * @return {@link Config}
+         */
+        public Config setMaximumPoolSize(final int maximumPoolSize) {
+            this.mMaximumPoolSize = Math.max(1, maximumPoolSize);
+            return this;
+        }
+
+        /**
+         * 设置空闲线程存活时间
+         * @param keepAliveTime 空闲线程存活时间
+         * @param unit          时间单位
+         * @return {@link Config}
+         */
+        public Config setKeepAliveTime(
+                final long keepAliveTime,
+                final TimeUnit unit
+        ) {
+            this.mKeepAliveTime = unit != null ? unit.toMillis(keepAliveTime) : keepAliveTime;
+            return this;
+        }
+
+        /**
+         * 设置队列容量
+         * @param queueCapacity 队列容量
+         * @return {@link Config}
+         */
+        public Config setQueueCapacity(final int queueCapacity) {
+            this.mQueueCapacity = Math.max(1, queueCapacity);
+            return this;
+        }
+
+        /**
+         * 设置队列满时拒绝策略
+         * @param rejectPolicy {@link RejectPolicy}
+         * @return {@link Config}
+         */
+        public Config setRejectPolicy(final RejectPolicy rejectPolicy) {
+            if (rejectPolicy != null) this.mRejectPolicy = rejectPolicy;
+            return this;
+        }
+
+        /**
+         * 创建有界线程池
+         * @return {@link ThreadPoolExecutor}
+         */
+        ThreadPoolExecutor build() {
+            RejectedExecutionHandler handler;
+            switch (mRejectPolicy) {
+                case DROP:
+                    handler = new ThreadPoolExecutor.DiscardPolicy();
+                    break;
+                case BLOCK:
+                    handler = (runnable, executor) -> {
+                        if (executor.isShutdown()) {
+                            throw new RejectedExecutionException("executor has been shut down");
+                        }
+                        try {
+                            executor.getQueue().put(runnable);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new RejectedExecutionException(e);
+                        }
+                        // 阻塞期间已关闭则移除任务并拒绝, 否则任务不会被执行
+                        if (executor.isShutdown() && executor.remove(runnable)) {
+                            throw new RejectedExecutionException("executor has been shut down");
+                        }
+                    };
+                    break;
+                default:
+                    handler = new ThreadPoolExecutor.CallerRunsPolicy();
+                    break;
+            }
+            return new ThreadPoolExecutor(
+                    mCorePoolSize, Math.max(mCorePoolSize, mMaximumPoolSize),
+                    mKeepAliveTime, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(mQueueCapacity), handler
+            );
+        }
+    }
+
+    // =
+
+    /**
+     * 是否支持虚拟线程
+     * @return {@code true} yes, {@code false} no
+     */
+    public static boolean isVirtualThreadSupported() {
+        return getVirtualThreadMethod() != null;
+    }
+
+    /**
+     * 创建虚拟线程线程池 ( 每个任务一个虚拟线程 )
+     * @return {@link ExecutorService}, 不支持虚拟线程则返回 null
+     */
+    public static ExecutorService newVirtualThreadPool() {
+        Method method = getVirtualThreadMethod();
+        if (method == null) return null;
+        try {
+            return (ExecutorService) method.invoke(null);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 获取 Executors.newVirtualThreadPerTaskExecutor 方法 ( Java 21+ )
+     * @return {@link Method}
+     */
+    private static Method getVirtualThreadMethod() {
+        try {
+            return Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    /**
+     * 创建工作窃取线程池
+     * <pre>
+     *     ForkJoinPool 需要 Android API 21 ( newWorkStealingPool 需要 API 24 ), 不支持则使用固定线程数线程池
+     * </pre>
+     * @return {@link ExecutorService}
+     */
+    private static ExecutorService newWorkStealingPool() {
+        try {
+            return Executors.newWorkStealingPool();
+        } catch (LinkageError e) {
+            return Executors.newFixedThreadPool(getThreads());
+        }
+    }
+
     // =
 
     /**
@@ -155,6 +361,238 @@ public final class DevThreadPool {
         }
     }
 
+    // ============
+    // = 统计数据 =
+    // ============
+
+    /**
+     * 设置是否开启统计
+     * <pre>
+     *     开启后提交的任务包装记录排队等待时间、执行时间, 关闭时不做任何包装
+     *     拒绝任务数只统计 ThreadPoolExecutor 类型线程池 ( 其他类型只在关闭后拒绝任务 )
+     * </pre>
+     * @param enabled 是否开启统计
+     * @return {@link DevThreadPool}
+     */
+    public synchronized DevThreadPool setMetricsEnabled(final boolean enabled) {
+        if (enabled == (mMetrics != null) || mThreadPool == null) return this;
+        if (enabled) {
+            DevThreadPoolMetrics metrics = new DevThreadPoolMetrics(mThreadPool);
+            if (mThreadPool instanceof ThreadPoolExecutor) {
+                ThreadPoolExecutor executor = (ThreadPoolExecutor) mThreadPool;
+                mRejectedHandler = executor.getRejectedExecutionHandler();
+                executor.setRejectedExecutionHandler(metrics.wrap(mRejectedHandler));
+            }
+            mMetrics = metrics;
+        } else {
+            if (mRejectedHandler != null) {
+                ((ThreadPoolExecutor) mThreadPool).setRejectedExecutionHandler(mRejectedHandler);
+                mRejectedHandler = null;
+            }
+            mMetrics = null;
+        }
+        return this;
+    }
+
+    /**
+     * 是否开启统计
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isMetricsEnabled() {
+        return mMetrics != null;
+    }
+
+    /**
+     * 获取统计快照
+     * @return {@link DevThreadPoolMetrics.Snapshot}, 未开启统计则返回 null
+     */
+    public DevThreadPoolMetrics.Snapshot getMetrics() {
+        DevThreadPoolMetrics metrics = mMetrics;
+        return metrics != null ? metrics.snapshot() : null;
+    }
+
+    /**
+     * 包装任务 ( 开启统计时 )
+     * @param runnable 任务
+     * @return 任务
+     */
+    private Runnable wrap(final Runnable runnable) {
+        touch();
+        DevThreadPoolMetrics metrics = mMetrics;
+        return metrics != null ? metrics.wrap(runnable) : runnable;
+    }
+
+    /**
+     * 包装任务 ( 开启统计时 )
+     * @param callable 任务
+     * @param <T>      泛型
+     * @return 任务
+     */
+    private <T> Callable<T> wrap(final Callable<T> callable) {
+        touch();
+        DevThreadPoolMetrics metrics = mMetrics;
+        return metrics != null ? metrics.wrap(callable) : callable;
+    }
+
+    /**
+     * 包装任务集合 ( 开启统计时 )
+     * @param tasks 任务集合
+     * @param <T>   泛型
+     * @return 任务集合
+     */
+    private <T> Collection<? extends Callable<T>> wrap(final Collection<? extends Callable<T>> tasks) {
+        touch();
+        DevThreadPoolMetrics metrics = mMetrics;
+        return metrics != null ? metrics.wrap(tasks) : tasks;
+    }
+
+    // ==============
+    // = 线程池调整 =
+    // ==============
+
+    /**
+     * 调整线程数量 ( 只支持 ThreadPoolExecutor 类型线程池 )
+     * @param corePoolSize    核心线程数
+     * @param maximumPoolSize 最大线程数
+     * @return {@code true} success, {@code false} fail
+     */
+    public synchronized boolean resize(
+            final int corePoolSize,
+            final int maximumPoolSize
+    ) {
+        if (!(mThreadPool instanceof ThreadPoolExecutor) || mThreadPool.isShutdown()) return false;
+        if (corePoolSize <= 0) return false;
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) mThreadPool;
+        int                maximum  = Math.max(corePoolSize, maximumPoolSize);
+        try {
+            // 先扩大最大线程数或先缩小核心线程数, 保证调整过程中 core <= max
+            if (maximum >= executor.getMaximumPoolSize()) {
+                executor.setMaximumPoolSize(maximum);
+                executor.setCorePoolSize(corePoolSize);
+            } else {
+                executor.setCorePoolSize(corePoolSize);
+                executor.setMaximumPoolSize(maximum);
+            }
+            return true;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * 获取最后提交任务时间
+     * @return 最后提交任务时间 ( 毫秒 )
+     */
+    public long getLastActiveTime() {
+        return mLastActiveTime;
+    }
+
+    /**
+     * 是否空闲
+     * <pre>
+     *     指定时间内未提交任务、没有未结束的定时任务且没有执行中、排队中的任务
+     *     非 ThreadPoolExecutor、ForkJoinPool 类型线程池无法获取执行状态, 只判断提交时间、定时任务
+     * </pre>
+     * @param idleMillis 空闲时间 ( 毫秒 )
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isIdle(final long idleMillis) {
+        if (mThreadPool == null) return true;
+        if (System.currentTimeMillis() - mLastActiveTime < idleMillis) return false;
+        // 延迟任务未到期、周期任务未取消
+        if (mScheduledCount.get() > 0) return false;
+        if (mThreadPool instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor executor = (ThreadPoolExecutor) mThreadPool;
+            return executor.getActiveCount() == 0 && executor.getQueue().isEmpty();
+        }
+        try {
+            if (mThreadPool instanceof ForkJoinPool) {
+                return ((ForkJoinPool) mThreadPool).isQuiescent();
+            }
+        } catch (LinkageError ignore) {
+            // ForkJoinPool 需要 Android API 21
+        }
+        return true;
+    }
+
+    /**
+     * 定时任务数量变化 ( 定时任务创建时 +1, 结束、取消时 -1 )
+     * @param delta 变化数量
+     */
+    void addScheduledCount(final int delta) {
+        mScheduledCount.addAndGet(delta);
+    }
+
+    /**
+     * 记录提交任务时间
+     */
+    private void touch() {
+        long now = System.currentTimeMillis();
+        // 时间未变化不重复写入, 减少多线程提交时的缓存行竞争
+        if (now != mLastActiveTime) mLastActiveTime = now;
+    }
+
+    // =
+
+    /**
+     * 移交定时任务到线程池任务队列 ( 定时线程中调用 )
+     * <pre>
+     *     不在当前线程中执行任务、不阻塞当前线程
+     *     线程池队列已满、已关闭等无法立即接收任务时返回 false
+     * </pre>
+     * @param runnable 任务
+     * @return {@code true} success, {@code false} fail
+     */
+    boolean handoff(final Runnable runnable) {
+        if (mThreadPool == null) return false;
+        if (mThreadPool instanceof ThreadPoolExecutor) {
+            return handoff((ThreadPoolExecutor) mThreadPool, wrap(runnable));
+        }
+        try {
+            mThreadPool.execute(wrap(runnable));
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 移交定时任务到 ThreadPoolExecutor ( 不触发拒绝策略 )
+     * <pre>
+     *     优先直接写入任务队列, 队列无法写入时仅在可创建新线程的情况下调用 execute
+     *     不修改线程池的拒绝策略, 避免调用者线程策略在定时线程中执行任务、阻塞策略阻塞定时线程
+     * </pre>
+     * @param executor {@link ThreadPoolExecutor}
+     * @param task     任务
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean handoff(
+            final ThreadPoolExecutor executor,
+            final Runnable task
+    ) {
+        if (executor.isShutdown()) return false;
+        if (executor.getQueue().offer(task)) {
+            // 写入后线程池已关闭则移除任务
+            if (executor.isShutdown() && executor.remove(task)) return false;
+            // 无工作线程则创建线程处理队列任务
+            if (executor.getPoolSize() == 0 && !executor.prestartCoreThread()) {
+                try {
+                    executor.execute(NOOP);
+                } catch (RejectedExecutionException ignore) {
+                }
+            }
+            return true;
+        }
+        // 队列已满且无法创建新线程
+        if (executor.getPoolSize() >= executor.getMaximumPoolSize()) return false;
+        try {
+            executor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
     // =
 
     /**
@@ -163,7 +601,7 @@ public final class DevThreadPool {
      */
     public void execute(final Runnable runnable) {
         if (mThreadPool != null && runnable != null) {
-            mThreadPool.execute(runnable);
+            mThreadPool.execute(wrap(runnable));
         }
     }
 
@@ -175,7 +613,7 @@ public final class DevThreadPool {
         if (mThreadPool != null && runnables != null) {
             for (Runnable command : runnables) {
                 if (command != null) {
-                    mThreadPool.execute(command);
+                    mThreadPool.execute(wrap(command));
                 }
             }
         }
@@ -191,12 +629,12 @@ public final class DevThreadPool {
             final Object object
     ) {
         if (mThreadPool != null && method != null && object != null) {
-            mThreadPool.execute(() -> {
+            mThreadPool.execute(wrap(() -> {
                 try {
                     method.invoke(object);
                 } catch (Exception ignore) {
                 }
-            });
+            }));
         }
     }
 
@@ -279,7 +717,7 @@ public final class DevThreadPool {
      */
     public <T> Future<T> submit(final Callable<T> task) {
         if (mThreadPool != null && task != null) {
-            return mThreadPool.submit(task);
+            return mThreadPool.submit(wrap(task));
         }
         return null;
     }
@@ -296,7 +734,7 @@ public final class DevThreadPool {
             final T result
     ) {
         if (mThreadPool != null && task != null) {
-            return mThreadPool.submit(task, result);
+            return mThreadPool.submit(wrap(task), result);
         }
         return null;
     }
@@ -309,7 +747,7 @@ public final class DevThreadPool {
      */
     public Future<?> submit(final Runnable task) {
         if (mThreadPool != null && task != null) {
-            return mThreadPool.submit(task);
+            return mThreadPool.submit(wrap(task));
         }
         return null;
     }
@@ -328,7 +766,7 @@ public final class DevThreadPool {
     public <T> List<Future<T>> invokeAll(final Collection<? extends Callable<T>> tasks)
             throws InterruptedException {
         if (mThreadPool != null && tasks != null) {
-            return mThreadPool.invokeAll(tasks);
+            return mThreadPool.invokeAll(wrap(tasks));
         }
         return null;
     }
@@ -355,7 +793,7 @@ public final class DevThreadPool {
     )
             throws InterruptedException {
         if (mThreadPool != null && tasks != null && unit != null) {
-            return mThreadPool.invokeAll(tasks, timeout, unit);
+            return mThreadPool.invokeAll(wrap(tasks), timeout, unit);
         }
         return null;
     }
@@ -374,7 +812,7 @@ public final class DevThreadPool {
     public <T> T invokeAny(final Collection<? extends Callable<T>> tasks)
             throws InterruptedException, ExecutionException {
         if (mThreadPool != null && tasks != null) {
-            return mThreadPool.invokeAny(tasks);
+            return mThreadPool.invokeAny(wrap(tasks));
         }
         return null;
     }
@@ -400,15 +838,20 @@ public final class DevThreadPool {
     )
             throws InterruptedException, ExecutionException, TimeoutException {
         if (mThreadPool != null && tasks != null && unit != null) {
-            return mThreadPool.invokeAny(tasks, timeout, unit);
+            return mThreadPool.invokeAny(wrap(tasks), timeout, unit);
         }
         return null;
     }
 
-    // =
+    // ==========
+    // = 定时任务 =
+    // ==========
 
     /**
      * 延迟执行 Runnable 命令
+     * <pre>
+     *     定时任务共用 {@link DevThreadScheduler} 计时, 到期后在当前线程池中执行
+     * </pre>
      * @param command 命令
      * @param delay   延迟时间
      * @param unit    单位
@@ -420,8 +863,8 @@ public final class DevThreadPool {
             final long delay,
             final TimeUnit unit
     ) {
-        if (mScheduleExec != null && command != null && unit != null) {
-            return mScheduleExec.schedule(command, delay, unit);
+        if (mThreadPool != null && command != null && unit != null) {
+            return DevThreadScheduler.schedule(this, Executors.callable(command), delay, unit);
         }
         return null;
     }
@@ -439,8 +882,8 @@ public final class DevThreadPool {
             final long delay,
             final TimeUnit unit
     ) {
-        if (mScheduleExec != null && callable != null && unit != null) {
-            return mScheduleExec.schedule(callable, delay, unit);
+        if (mThreadPool != null && callable != null && unit != null) {
+            return DevThreadScheduler.schedule(this, callable, delay, unit);
         }
         return null;
     }
@@ -460,8 +903,10 @@ public final class DevThreadPool {
             final long period,
             final TimeUnit unit
     ) {
-        if (mScheduleExec != null && command != null && unit != null) {
-            return mScheduleExec.scheduleAtFixedRate(command, initialDelay, period, unit);
+        if (mThreadPool != null && command != null && unit != null) {
+            return DevThreadScheduler.schedulePeriodic(
+                    this, command, initialDelay, period, unit, true
+            );
         }
         return null;
     }
@@ -481,8 +926,10 @@ public final class DevThreadPool {
             final long delay,
             final TimeUnit unit
     ) {
-        if (mScheduleExec != null && command != null && unit != null) {
-            return mScheduleExec.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+        if (mThreadPool != null && command != null && unit != null) {
+            return DevThreadScheduler.schedulePeriodic(
+                    this, command, initialDelay, delay, unit, false
+            );
         }
         return null;
     }
@@ -21,6 +21,7 @@ import java.util.List;
 
 import dev.utils.DevFinal;
 import dev.utils.JCLogUtils;
+import dev.utils.common.file.FileLineIndex;
 
 /**
  * detail: 文件 ( IO 流 ) 工具类
@@ -35,9 +36,11 @@ public final class FileIOUtils {
     private static final String TAG = FileIOUtils.class.getSimpleName();
 
     // 缓存大小
-    private static      int sBufferSize = 8192;
+    private static      int sBufferSize    = 8192;
     // 无数据读取
-    public static final int EOF         = -1;
+    public static final int EOF            = -1;
+    // 默认映射分块大小 ( 64mb )
+    public static final int MAP_CHUNK_SIZE = 67108864;
 
     /**
      * 设置缓冲区的大小, 默认大小等于 8192 字节
@@ -597,6 +600,11 @@ public final class FileIOUtils {
     ) {
         if (!FileUtils.isFileExists(file)) return null;
         if (start > end) return null;
+        // 非首行开始读取通过行偏移索引直接定位
+        if (start > 1 && FileLineIndex.isSupportCharset(charsetName)) {
+            FileLineIndex index = FileLineIndex.get(file);
+            if (index != null) return index.readLines(start, end, charsetName);
+        }
         BufferedReader br = null;
         try {
             String       line;
@@ -775,8 +783,10 @@ public final class FileIOUtils {
         FileChannel fc = null;
         try {
             fc = new RandomAccessFile(file, "r").getChannel();
+            // byte[] 最大 2GB
+            if (fc.size() > Integer.MAX_VALUE) return null;
             int              size   = (int) fc.size();
-            MappedByteBuffer mbb    = fc.map(FileChannel.MapMode.READ_ONLY, 0, size).load();
+            MappedByteBuffer mbb    = fc.map(FileChannel.MapMode.READ_ONLY, 0, size);
             byte[]           result = new byte[size];
             mbb.get(result, 0, size);
             return result;
@@ -788,6 +798,154 @@ public final class FileIOUtils {
         }
     }
 
+    /**
+     * detail: 文件分块读取回调
+     * @author Ttt
+     */
+    public interface ChunkVisitor {
+
+        /**
+         * 分块读取回调
+         * @param buffer   分块数据 ( 只读映射, 不复制到堆内存 )
+         * @param position 分块在文件中的开始位置
+         * @return {@code true} 继续读取, {@code false} 停止读取
+         */
+        boolean onChunk(
+                ByteBuffer buffer,
+                long position
+        );
+    }
+
+    /**
+     * 通过 MappedByteBuffer, 获取文件只读映射 ( 不复制数据 )
+     * @param filePath 文件路径
+     * @return 文件只读映射 {@link MappedByteBuffer}
+     */
+    public static MappedByteBuffer readFileToBufferByMap(final String filePath) {
+        return readFileToBufferByMap(FileUtils.getFileByPath(filePath));
+    }
+
+    /**
+     * 通过 MappedByteBuffer, 获取文件只读映射 ( 不复制数据 )
+     * <pre>
+     *     单个映射最大 2GB, 大文件使用 {@link #readFileToBuffersByMap(File, int)}
+     *     或 {@link #forEachChunk(File, int, ChunkVisitor)}
+     * </pre>
+     * @param file 文件
+     * @return 文件只读映射 {@link MappedByteBuffer}
+     */
+    public static MappedByteBuffer readFileToBufferByMap(final File file) {
+        if (!FileUtils.isFileExists(file)) return null;
+        return readFileToBufferByMap(file, 0L, file.length());
+    }
+
+    /**
+     * 通过 MappedByteBuffer, 获取文件指定范围只读映射 ( 不复制数据 )
+     * @param file     文件
+     * @param position 映射开始位置
+     * @param size     映射大小 ( 最大 2GB )
+     * @return 文件只读映射 {@link MappedByteBuffer}
+     */
+    public static MappedByteBuffer readFileToBufferByMap(
+            final File file,
+            final long position,
+            final long size
+    ) {
+        if (!FileUtils.isFileExists(file)) return null;
+        if (position < 0L || size < 0L || size > Integer.MAX_VALUE) return null;
+        FileChannel fc = null;
+        try {
+            fc = new RandomAccessFile(file, "r").getChannel();
+            if (position + size > fc.size()) return null;
+            // 通道关闭后映射依然有效
+            return fc.map(FileChannel.MapMode.READ_ONLY, position, size);
+        } catch (IOException e) {
+            JCLogUtils.eTag(TAG, e, "readFileToBufferByMap");
+            return null;
+        } finally {
+            CloseUtils.closeIOQuietly(fc);
+        }
+    }
+
+    /**
+     * 通过 MappedByteBuffer, 分窗口获取文件只读映射 ( 支持大于 2GB 文件 )
+     * @param file       文件
+     * @param windowSize 单个映射窗口大小
+     * @return 文件只读映射集合 ( 按文件顺序 )
+     */
+    public static List<MappedByteBuffer> readFileToBuffersByMap(
+            final File file,
+            final int windowSize
+    ) {
+        if (!FileUtils.isFileExists(file) || windowSize <= 0) return null;
+        FileChannel fc = null;
+        try {
+            fc = new RandomAccessFile(file, "r").getChannel();
+            long                   size    = fc.size();
+            List<MappedByteBuffer> buffers = new ArrayList<>((int) (size / windowSize) + 1);
+            for (long position = 0L; position < size; position += windowSize) {
+                buffers.add(fc.map(
+                        FileChannel.MapMode.READ_ONLY, position, Math.min(windowSize, size - position)
+                ));
+            }
+            return buffers;
+        } catch (IOException e) {
+            JCLogUtils.eTag(TAG, e, "readFileToBuffersByMap");
+            return null;
+        } finally {
+            CloseUtils.closeIOQuietly(fc);
+        }
+    }
+
+    /**
+     * 通过 MappedByteBuffer, 分块读取文件 ( 默认分块大小 {@link #MAP_CHUNK_SIZE} )
+     * @param file    文件
+     * @param visitor 文件分块读取回调
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean forEachChunk(
+            final File file,
+            final ChunkVisitor visitor
+    ) {
+        return forEachChunk(file, MAP_CHUNK_SIZE, visitor);
+    }
+
+    /**
+     * 通过 MappedByteBuffer, 分块读取文件
+     * <pre>
+     *     每次只映射一个分块, 数据不复制到堆内存, 可用于解析、计算摘要、搜索大文件内容
+     *     回调返回 false 则停止读取 ( 返回 true )
+     * </pre>
+     * @param file      文件
+     * @param chunkSize 分块大小
+     * @param visitor   文件分块读取回调
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean forEachChunk(
+            final File file,
+            final int chunkSize,
+            final ChunkVisitor visitor
+    ) {
+        if (!FileUtils.isFileExists(file) || chunkSize <= 0 || visitor == null) return false;
+        FileChannel fc = null;
+        try {
+            fc = new RandomAccessFile(file, "r").getChannel();
+            long size = fc.size();
+            for (long position = 0L; position < size; position += chunkSize) {
+                MappedByteBuffer buffer = fc.map(
+                        FileChannel.MapMode.READ_ONLY, position, Math.min(chunkSize, size - position)
+                );
+                if (!visitor.onChunk(buffer, position)) break;
+            }
+            return true;
+        } catch (IOException e) {
+            JCLogUtils.eTag(TAG, e, "forEachChunk");
+            return false;
+        } finally {
+            CloseUtils.closeIOQuietly(fc);
+        }
+    }
+
     // =
 
     /**
@@ -1,5 +1,12 @@
 package dev.utils.common;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 /**
  * detail: 循环工具类
  * @author Ttt
@@ -624,4 +631,358 @@ public final class ForUtils {
         }
         return false;
     }
+
+    // ============
+    // = 并行循环 =
+    // ============
+
+    // 并行循环最小拆分粒度
+    private static final int MIN_GRAIN = 256;
+    // 允许积压的任务数 ( 超过则不再拆分 )
+    private static final int SURPLUS   = 3;
+
+    /**
+     * detail: 并行循环消费者
+     * @author Ttt
+     */
+    public interface ParallelConsumer<T> {
+
+        /**
+         * 循环消费方法
+         * @param index 索引
+         * @param value 对应索引值
+         * @return {@code true} 继续循环, {@code false} 终止循环
+         */
+        boolean accept(
+                int index,
+                T value
+        );
+    }
+
+    /**
+     * detail: 并行循环消费者
+     * @author Ttt
+     */
+    public interface ParallelIntConsumer {
+
+        /**
+         * 循环消费方法
+         * @param index 索引
+         * @param value 对应索引值
+         * @return {@code true} 继续循环, {@code false} 终止循环
+         */
+        boolean accept(
+                int index,
+                int value
+        );
+    }
+
+    /**
+     * detail: 并行循环消费者
+     * @author Ttt
+     */
+    public interface ParallelLongConsumer {
+
+        /**
+         * 循环消费方法
+         * @param index 索引
+         * @param value 对应索引值
+         * @return {@code true} 继续循环, {@code false} 终止循环
+         */
+        boolean accept(
+                int index,
+                long value
+        );
+    }
+
+    /**
+     * detail: 并行循环消费者
+     * @author Ttt
+     */
+    public interface ParallelDoubleConsumer {
+
+        /**
+         * 循环消费方法
+         * @param index 索引
+         * @param value 对应索引值
+         * @return {@code true} 继续循环, {@code false} 终止循环
+         */
+        boolean accept(
+                int index,
+                double value
+        );
+    }
+
+    /**
+     * detail: 并行循环索引消费者
+     * @author Ttt
+     */
+    public interface ParallelIndexConsumer {
+
+        /**
+         * 循环消费方法
+         * @param index 索引
+         * @return {@code true} 继续循环, {@code false} 终止循环
+         */
+        boolean accept(int index);
+    }
+
+    /**
+     * 并行循环数组
+     * <pre>
+     *     通过 {@link ForkJoinPool#commonPool()} 拆分索引范围并行执行, 执行顺序不固定
+     *     任一回调返回 false 或抛出异常后, 尚未执行的索引不再执行 ( 执行中的回调不受影响 )
+     *     回调抛出的异常将在全部已开始的回调结束后在调用线程中抛出
+     *     不支持 ForkJoinPool.commonPool ( Android API 24 ) 时在调用线程中顺序执行
+     * </pre>
+     * @param action 循环消费对象
+     * @param args   参数
+     * @param <T>    泛型
+     * @return {@code true} 全部执行完成, {@code false} 参数错误或已终止
+     */
+    public static <T> boolean forParallel(
+            final ParallelConsumer<T> action,
+            final T... args
+    ) {
+        if (action == null || args == null) return false;
+        return forParallelRange(0, args.length, (start, end, stop) -> {
+            for (int i = start; i < end && !stop.get(); i++) {
+                if (!action.accept(i, args[i])) return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * 并行循环集合
+     * <pre>
+     *     非 {@link RandomAccess} 集合会先转换为数组
+     *     循环期间不可修改集合
+     * </pre>
+     * @param action 循环消费对象
+     * @param list   集合
+     * @param <T>    泛型
+     * @return {@code true} 全部执行完成, {@code false} 参数错误或已终止
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> boolean forParallel(
+            final ParallelConsumer<T> action,
+            final List<T> list
+    ) {
+        if (action == null || list == null) return false;
+        if (!(list instanceof RandomAccess)) {
+            return forParallel(action, (T[]) list.toArray());
+        }
+        return forParallelRange(0, list.size(), (start, end, stop) -> {
+            for (int i = start; i < end && !stop.get(); i++) {
+                if (!action.accept(i, list.get(i))) return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * 并行循环数组
+     * @param action 循环消费对象
+     * @param args   参数
+     * @return {@code true} 全部执行完成, {@code false} 参数错误或已终止
+     */
+    public static boolean forParallelInts(
+            final ParallelIntConsumer action,
+            final int... args
+    ) {
+        if (action == null || args == null) return false;
+        return forParallelRange(0, args.length, (start, end, stop) -> {
+            for (int i = start; i < end && !stop.get(); i++) {
+                if (!action.accept(i, args[i])) return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * 并行循环数组
+     * @param action 循环消费对象
+     * @param args   参数
+     * @return {@code true} 全部执行完成, {@code false} 参数错误或已终止
+     */
+    public static boolean forParallelLongs(
+            final ParallelLongConsumer action,
+            final long... args
+    ) {
+        if (action == null || args == null) return false;
+        return forParallelRange(0, args.length, (start, end, stop) -> {
+            for (int i = start; i < end && !stop.get(); i++) {
+                if (!action.accept(i, args[i])) return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * 并行循环数组
+     * @param action 循环消费对象
+     * @param args   参数
+     * @return {@code true} 全部执行完成, {@code false} 参数错误或已终止
+     */
+    public static boolean forParallelDoubles(
+            final ParallelDoubleConsumer action,
+            final double... args
+    ) {
+        if (action == null || args == null) return false;
+        return forParallelRange(0, args.length, (start, end, stop) -> {
+            for (int i = start; i < end && !stop.get(); i++) {
+                if (!action.accept(i, args[i])) return false;
+            }
+            return true;
+        });
+    }
+
+    /**
+     * 并行循环索引范围
+     * @param action 循环消费对象
+     * @param start  开始索引
+     * @param end    结束索引 ( 不包含 )
+     * @return {@code true} 全部执行完成, {@code false} 参数错误或已终止
+     */
+    public static boolean forParallelRange(
+            final ParallelIndexConsumer action,
+            final int start,
+            final int end
+    ) {
+        if (action == null || start > end) return false;
+        return forParallelRange(start, end, (from, to, stop) -> {
+            for (int i = from; i < to && !stop.get(); i++) {
+                if (!action.accept(i)) return false;
+            }
+            return true;
+        });
+    }
+
+    // =
+
+    /**
+     * detail: 索引范围处理
+     * @author Ttt
+     */
+    private interface RangeAction {
+
+        /**
+         * 处理索引范围
+         * @param start 开始索引
+         * @param end   结束索引 ( 不包含 )
+         * @param stop  是否已终止
+         * @return {@code true} 继续循环, {@code false} 终止循环
+         */
+        boolean run(
+                int start,
+                int end,
+                AtomicBoolean stop
+        );
+    }
+
+    /**
+     * detail: 索引范围拆分任务
+     * @author Ttt
+     * <pre>
+     *     按当前线程积压任务数决定是否继续拆分 ( 线程空闲时拆分, 繁忙时直接执行 )
+     *     拆分粒度不小于 grain, 避免任务过小导致调度开销大于执行开销
+     * </pre>
+     */
+    private static final class RangeTask
+            extends RecursiveAction {
+
+        private static final long serialVersionUID = -3460178413575392167L;
+
+        private final int           start;
+        private final int           end;
+        private final int           grain;
+        private final RangeAction   action;
+        private final AtomicBoolean stop;
+
+        RangeTask(
+                final int start,
+                final int end,
+                final int grain,
+                final RangeAction action,
+                final AtomicBoolean stop
+        ) {
+            this.start  = start;
+            this.end    = end;
+            this.grain  = grain;
+            this.action = action;
+            this.stop   = stop;
+        }
+
+        @Override
+        protected void compute() {
+            int             high   = end;
+            List<RangeTask> forked = null;
+            // 使用 long 计算范围长度, 避免 start 为负数时溢出
+            while ((long) high - start > grain && !stop.get() && getSurplusQueuedTaskCount() <= SURPLUS) {
+                int       mid  = (int) (start + (((long) high - start) >>> 1));
+                RangeTask task = new RangeTask(mid, high, grain, action, stop);
+                task.fork();
+                if (forked == null) forked = new ArrayList<>();
+                forked.add(task);
+                high = mid;
+            }
+            Throwable failure = null;
+            try {
+                if (!stop.get() && !action.run(start, high, stop)) {
+                    stop.set(true);
+                }
+            } catch (Throwable throwable) {
+                // 回调异常则终止其他任务
+                stop.set(true);
+                failure = throwable;
+            }
+            if (forked != null) {
+                // 后拆分的任务范围较小, 优先合并 ( 异常时也需等待全部已 fork 的任务结束 )
+                for (int i = forked.size() - 1; i >= 0; i--) {
+                    try {
+                        forked.get(i).join();
+                    } catch (Throwable throwable) {
+                        stop.set(true);
+                        if (failure == null) failure = throwable;
+                    }
+                }
+            }
+            if (failure instanceof RuntimeException) throw (RuntimeException) failure;
+            if (failure instanceof Error) throw (Error) failure;
+            if (failure != null) throw new RuntimeException(failure);
+        }
+    }
+
+    /**
+     * 并行处理索引范围
+     * @param start  开始索引
+     * @param end    结束索引 ( 不包含 )
+     * @param action 索引范围处理
+     * @return {@code true} 全部执行完成, {@code false} 已终止
+     */
+    private static boolean forParallelRange(
+            final int start,
+            final int end,
+            final RangeAction action
+    ) {
+        AtomicBoolean stop = new AtomicBoolean();
+        ForkJoinPool  pool;
+        try {
+            pool = ForkJoinPool.commonPool();
+        } catch (LinkageError e) {
+            // commonPool 需要 Android API 24 ( ForkJoinPool 需要 API 21 ), 不支持则在当前线程执行
+            return action.run(start, end, stop);
+        }
+        int  parallelism = pool.getParallelism();
+        long length      = (long) end - start;
+        // 单核或数据量小直接在当前线程执行
+        if (parallelism <= 1 || length <= MIN_GRAIN) {
+            return action.run(start, end, stop);
+        }
+        // 初始粒度为每个线程 8 份, 便于负载不均时互相窃取
+        int grain = (int) Math.max(MIN_GRAIN, length / (parallelism << 3));
+        pool.invoke(new RangeTask(start, end, grain, action, stop));
+        return !stop.get();
+    }
 }
\ No newline at end of file
@@ -0,0 +1,162 @@
+package dev.utils.common.assist.search;
+
+import java.io.File;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * detail: 文件搜索结果流式队列 ( 有界队列 )
+ * @author Ttt
+ * <pre>
+ *     搜索线程每匹配到一个文件就写入队列, 调用方通过 {@link Iterator} 边搜索边消费
+ *     队列满时搜索线程阻塞等待 ( 背压 ), 消费过慢会自动降低搜索速度
+ *     配合 setBuildTree(false) 使用可不构建 FileItem 树, 内存占用只与队列容量有关
+ *     <p></p>
+ *     FileSearchQueue queue = new FileSearchQueue(256);
+ *     new FileBreadthFirstSearchUtils().setSearchQueue(queue).setBuildTree(false).query(path);
+ *     while (queue.hasNext()) {
+ *         File file = queue.next();
+ *     }
+ *     提前结束消费需调用 {@link #close()}, 搜索线程写入失败后将停止搜索
+ *     队列只能用于一次搜索, 搜索结束 ( finish ) 或关闭消费 ( close ) 后不可复用, 再次搜索需创建新的队列
+ * </pre>
+ */
+public final class FileSearchQueue
+        implements Iterator<File> {
+
+    // 默认队列容量
+    public static final int DEFAULT_CAPACITY = 256;
+
+    // 等待间隔 ( 毫秒 )
+    private static final long WAIT_TIME = 50L;
+
+    // 结果队列
+    private final    ArrayBlockingQueue<File> mQueue;
+    // 是否搜索结束 ( 不再写入 )
+    private volatile boolean                  mFinished = false;
+    // 是否关闭消费 ( 不再读取 )
+    private volatile boolean                  mClosed   = false;
+    // 下一个文件
+    private          File                     mNext;
+
+    /**
+     * 构造函数
+     */
+    public FileSearchQueue() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * 构造函数
+     * @param capacity 队列容量
+     */
+    public FileSearchQueue(final int capacity) {
+        this.mQueue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+    }
+
+    // ============
+    // = 搜索线程调用 =
+    // ============
+
+    /**
+     * 写入文件 ( 队列满时阻塞等待 )
+     * @param file 文件
+     * @return {@code true} success, {@code false} fail ( 已关闭消费 )
+     */
+    public boolean put(final File file) {
+        if (file == null) return !mClosed;
+        try {
+            while (!mClosed) {
+                if (mQueue.offer(file, WAIT_TIME, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * 标记搜索结束
+     */
+    public void finish() {
+        mFinished = true;
+    }
+
+    /**
+     * 是否搜索结束
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isFinished() {
+        return mFinished;
+    }
+
+    // ============
+    // = 消费线程调用 =
+    // ============
+
+    /**
+     * 是否存在下一个文件 ( 阻塞等待直到有数据或搜索结束 )
+     * @return {@code true} yes, {@code false} no
+     */
+    @Override
+    public synchronized boolean hasNext() {
+        if (mNext != null) return true;
+        try {
+            while (!mClosed) {
+                boolean finished = mFinished;
+                File    file     = mQueue.poll(finished ? 0L : WAIT_TIME, TimeUnit.MILLISECONDS);
+                if (file != null) {
+                    mNext = file;
+                    return true;
+                }
+                // 搜索结束且队列已消费完
+                if (finished) return false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    /**
+     * 获取下一个文件
+     * @return 文件
+     */
+    @Override
+    public synchronized File next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        File file = mNext;
+        mNext = null;
+        return file;
+    }
+
+    /**
+     * 关闭消费 ( 清空队列并通知搜索线程停止写入 )
+     */
+    public void close() {
+        mClosed = true;
+        mQueue.clear();
+    }
+
+    /**
+     * 是否关闭消费
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isClosed() {
+        return mClosed;
+    }
+
+    /**
+     * 获取当前队列中待消费数量
+     * @return 待消费数量
+     */
+    public int size() {
+        return mQueue.size();
+    }
+}
\ No newline at end of file
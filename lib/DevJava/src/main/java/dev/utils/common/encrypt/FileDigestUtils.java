@@ -0,0 +1,216 @@
+package dev.utils.common.encrypt;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.ConvertUtils;
+import dev.utils.common.StringUtils;
+
+/**
+ * detail: 文件多摘要计算工具类 ( 单次读取 )
+ * @author Ttt
+ * <pre>
+ *     同时计算文件 MD5、SHA-1、SHA-256、CRC32 等多个摘要值
+ *     文件只读取一次 ( 堆外 ByteBuffer ), 同一块数据依次提供给每个摘要算法
+ *     相比分别调用 {@link MD5Utils#getFileMD5(File)}、{@link SHAUtils#getFileSHA(File, String)}、
+ *     {@link CRCUtils#getFileCRC32(String)} 可减少多次完整读取文件
+ *     <p></p>
+ *     FileDigestUtils.DigestResult result = FileDigestUtils.getFileDigests(
+ *             file, FileDigestUtils.MD5, FileDigestUtils.SHA1, FileDigestUtils.SHA256, FileDigestUtils.CRC32
+ *     );
+ *     result.getHexString(FileDigestUtils.MD5);
+ * </pre>
+ */
+public final class FileDigestUtils {
+
+    private FileDigestUtils() {
+    }
+
+    // 日志 TAG
+    private static final String TAG = FileDigestUtils.class.getSimpleName();
+
+    // MD5 算法
+    public static final String MD5    = "MD5";
+    // SHA-1 算法
+    public static final String SHA1   = "SHA-1";
+    // SHA-256 算法
+    public static final String SHA256 = "SHA-256";
+    // SHA-512 算法
+    public static final String SHA512 = "SHA-512";
+    // CRC32 校验
+    public static final String CRC32  = "CRC32";
+
+    // 读取缓冲区大小 ( 1mb 堆外内存 )
+    public static final int BUFFER_SIZE = 1048576;
+
+    /**
+     * detail: 文件摘要结果
+     * @author Ttt
+     */
+    public static final class DigestResult {
+
+        // 文件大小
+        private final long                mLength;
+        // 摘要值 ( key 为算法 )
+        private final Map<String, byte[]> mDigestMaps = new LinkedHashMap<>();
+
+        DigestResult(final long length) {
+            this.mLength = length;
+        }
+
+        /**
+         * 获取文件大小
+         * @return 文件大小
+         */
+        public long getLength() {
+            return mLength;
+        }
+
+        /**
+         * 获取全部摘要值
+         * @return 摘要值 Map ( key 为算法 )
+         */
+        public Map<String, byte[]> getDigests() {
+            return new LinkedHashMap<>(mDigestMaps);
+        }
+
+        /**
+         * 获取指定算法摘要值
+         * @param algorithm 算法
+         * @return 摘要值 byte[] ( CRC32 为 4 字节大端 )
+         */
+        public byte[] getDigest(final String algorithm) {
+            return mDigestMaps.get(algorithm);
+        }
+
+        /**
+         * 获取指定算法摘要值
+         * @param algorithm 算法
+         * @return 摘要值转十六进制字符串 ( CRC32 与 {@link CRCUtils#getFileCRC32(String)} 格式一致 )
+         */
+        public String getHexString(final String algorithm) {
+            byte[] digest = mDigestMaps.get(algorithm);
+            if (digest == null) return null;
+            if (CRC32.equals(algorithm)) {
+                return Long.toHexString(getCRC32());
+            }
+            return ConvertUtils.toHexString(digest);
+        }
+
+        /**
+         * 获取 CRC32 值
+         * @return CRC32 long 值, 未计算则返回 -1
+         */
+        public long getCRC32() {
+            byte[] digest = mDigestMaps.get(CRC32);
+            if (digest == null) return -1L;
+            return ((digest[0] & 0xFFL) << 24) | ((digest[1] & 0xFFL) << 16)
+                    | ((digest[2] & 0xFFL) << 8) | (digest[3] & 0xFFL);
+        }
+
+        void put(
+                final String algorithm,
+                final byte[] digest
+        ) {
+            mDigestMaps.put(algorithm, digest);
+        }
+    }
+
+    // =
+
+    /**
+     * 获取文件多个摘要值 ( 默认 MD5、SHA-1、SHA-256、CRC32 )
+     * @param filePath 文件路径
+     * @return {@link DigestResult}
+     */
+    public static DigestResult getFileDigests(final String filePath) {
+        File file = StringUtils.isEmpty(filePath) ? null : new File(filePath);
+        return getFileDigests(file, MD5, SHA1, SHA256, CRC32);
+    }
+
+    /**
+     * 获取文件多个摘要值
+     * @param filePath   文件路径
+     * @param algorithms 算法 ( MessageDigest 算法名或 {@link #CRC32} )
+     * @return {@link DigestResult}
+     */
+    public static DigestResult getFileDigests(
+            final String filePath,
+            final String... algorithms
+    ) {
+        File file = StringUtils.isEmpty(filePath) ? null : new File(filePath);
+        return getFileDigests(file, algorithms);
+    }
+
+    /**
+     * 获取文件多个摘要值
+     * @param file       文件
+     * @param algorithms 算法 ( MessageDigest 算法名或 {@link #CRC32} )
+     * @return {@link DigestResult}
+     */
+    public static DigestResult getFileDigests(
+            final File file,
+            final String... algorithms
+    ) {
+        if (file == null || algorithms == null || algorithms.length == 0) return null;
+        FileInputStream fis = null;
+        try {
+            // 初始化摘要算法
+            MessageDigest[]     digests = new MessageDigest[algorithms.length];
+            java.util.zip.CRC32 crc32   = null;
+            for (int i = 0; i < algorithms.length; i++) {
+                if (CRC32.equals(algorithms[i])) {
+                    crc32 = new java.util.zip.CRC32();
+                } else {
+                    digests[i] = MessageDigest.getInstance(algorithms[i]);
+                }
+            }
+            fis = new FileInputStream(file);
+            FileChannel channel = fis.getChannel();
+            // 使用堆内缓冲区, CRC32.update(ByteBuffer) 需要 Android API 26
+            ByteBuffer  buffer  = ByteBuffer.allocate(BUFFER_SIZE);
+            long        length  = 0L;
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                length += buffer.remaining();
+                // 同一块数据提供给每个摘要算法
+                for (MessageDigest digest : digests) {
+                    if (digest != null) {
+                        buffer.mark();
+                        digest.update(buffer);
+                        buffer.reset();
+                    }
+                }
+                if (crc32 != null) {
+                    crc32.update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                }
+                buffer.clear();
+            }
+            DigestResult result = new DigestResult(length);
+            for (int i = 0; i < algorithms.length; i++) {
+                if (digests[i] != null) {
+                    result.put(algorithms[i], digests[i].digest());
+                } else if (crc32 != null) {
+                    long value = crc32.getValue();
+                    result.put(algorithms[i], new byte[]{
+                            (byte) (value >>> 24), (byte) (value >>> 16),
+                            (byte) (value >>> 8), (byte) value
+                    });
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "getFileDigests");
+        } finally {
+            CloseUtils.closeIOQuietly(fis);
+        }
+        return null;
+    }
+}
\ No newline at end of file
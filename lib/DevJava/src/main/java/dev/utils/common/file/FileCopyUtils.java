@@ -0,0 +1,369 @@
+package dev.utils.common.file;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+import dev.utils.common.FileUtils;
+
+/**
+ * detail: 文件复制、移动工具类 ( 零拷贝 + 并行 )
+ * @author Ttt
+ * <pre>
+ *     大文件 ( 大于等于 {@link #LARGE_FILE_LENGTH} ) 使用 FileChannel.transferTo 复制, 由内核直接拷贝数据
+ *     小文件使用有限线程数并行复制
+ *     移动时如果源、目标处于同一文件系统则直接使用 File.renameTo 重命名, 无需复制 + 删除
+ *     目录扫描跟随符号链接 ( 存在循环链接时失败 ), 移动时存在无法复制的文件 ( 非普通文件、目录 ) 则失败
+ *     只使用 java.io 接口, 不依赖 java.nio.file ( Android API 26 )
+ *     <p></p>
+ *     复制进度通过 {@link OnProgressListener} 回调 ( 可能在复制线程中回调 )
+ * </pre>
+ */
+public final class FileCopyUtils {
+
+    private FileCopyUtils() {
+    }
+
+    // 日志 TAG
+    private static final String TAG               = FileCopyUtils.class.getSimpleName();
+    // 大文件大小 byte ( 默认 4mb, 大于等于该值使用 transferTo 复制 )
+    public static final  long   LARGE_FILE_LENGTH = 4194304L;
+    // 小文件复制缓冲区大小
+    private static final int    BUFFER_SIZE       = 65536;
+    // transferTo 单次传输最大字节
+    private static final long   TRANSFER_SIZE     = 8388608L;
+
+    /**
+     * detail: 复制进度监听
+     * @author Ttt
+     */
+    public interface OnProgressListener {
+
+        /**
+         * 复制进度回调
+         * @param copiedLength 已复制字节数
+         * @param totalLength  总字节数
+         * @param copiedCount  已复制文件数
+         * @param totalCount   文件总数
+         */
+        void onProgress(
+                long copiedLength,
+                long totalLength,
+                int copiedCount,
+                int totalCount
+        );
+    }
+
+    /**
+     * 获取默认复制线程数
+     * @return 复制线程数
+     */
+    public static int getDefaultThreadNumber() {
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    // ============
+    // = 单文件处理 =
+    // ============
+
+    /**
+     * 复制文件 ( 大文件使用 transferTo )
+     * @param srcFile  源文件
+     * @param destFile 目标文件
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean copyFile(
+            final File srcFile,
+            final File destFile
+    ) {
+        return copyFile(srcFile, destFile, null);
+    }
+
+    /**
+     * 复制文件 ( 大文件使用 transferTo )
+     * @param srcFile  源文件
+     * @param destFile 目标文件
+     * @param progress 复制成功回调 ( 可为 null )
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean copyFile(
+            final File srcFile,
+            final File destFile,
+            final Runnable progress
+    ) {
+        if (srcFile == null || destFile == null) return false;
+        if (!srcFile.isFile()) return false;
+        if (!FileUtils.createOrExistsDir(destFile.getParentFile())) return false;
+        boolean          result = false;
+        FileInputStream  fis    = null;
+        FileOutputStream fos    = null;
+        try {
+            fis = new FileInputStream(srcFile);
+            fos = new FileOutputStream(destFile);
+            FileChannel srcChannel  = fis.getChannel();
+            FileChannel destChannel = fos.getChannel();
+            long        size        = srcChannel.size();
+            if (size >= LARGE_FILE_LENGTH) {
+                long position = 0L;
+                while (position < size) {
+                    long count = srcChannel.transferTo(
+                            position, Math.min(TRANSFER_SIZE, size - position), destChannel
+                    );
+                    if (count <= 0) break;
+                    position += count;
+                }
+                result = (position == size);
+            } else {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                while (srcChannel.read(buffer) != -1) {
+                    buffer.flip();
+                    while (buffer.hasRemaining()) {
+                        destChannel.write(buffer);
+                    }
+                    buffer.clear();
+                }
+                result = true;
+            }
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "copyFile");
+        } finally {
+            CloseUtils.closeIOQuietly(fos, fis);
+        }
+        if (result && progress != null) progress.run();
+        return result;
+    }
+
+    /**
+     * 移动文件或目录 ( 同一文件系统下重命名 )
+     * @param src  源文件或目录
+     * @param dest 目标文件或目录 ( 需不存在 )
+     * @return {@code true} success, {@code false} fail ( 非同一文件系统或移动失败 )
+     */
+    public static boolean rename(
+            final File src,
+            final File dest
+    ) {
+        if (src == null || dest == null) return false;
+        if (!src.exists() || dest.exists()) return false;
+        if (!FileUtils.createOrExistsDir(dest.getAbsoluteFile().getParentFile())) return false;
+        try {
+            // 不同文件系统 renameTo 返回 false, 由调用方复制 + 删除
+            return src.renameTo(dest);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    // ============
+    // = 目录处理 =
+    // ============
+
+    /**
+     * 复制或移动目录
+     * @param srcDir   源目录
+     * @param destDir  目标目录
+     * @param listener 是否覆盖监听器
+     * @param isMove   是否移动
+     * @return {@code true} 复制或移动成功, {@code false} 复制或移动失败
+     */
+    public static boolean copyOrMoveDir(
+            final File srcDir,
+            final File destDir,
+            final FileUtils.OnReplaceListener listener,
+            final boolean isMove
+    ) {
+        return copyOrMoveDir(srcDir, destDir, listener, isMove, getDefaultThreadNumber(), null);
+    }
+
+    /**
+     * 复制或移动目录
+     * @param srcDir           源目录
+     * @param destDir          目标目录
+     * @param listener         是否覆盖监听器
+     * @param isMove           是否移动
+     * @param threadNumber     小文件复制线程数
+     * @param progressListener 复制进度监听
+     * @return {@code true} 复制或移动成功, {@code false} 复制或移动失败
+     */
+    public static boolean copyOrMoveDir(
+            final File srcDir,
+            final File destDir,
+            final FileUtils.OnReplaceListener listener,
+            final boolean isMove,
+            final int threadNumber,
+            final OnProgressListener progressListener
+    ) {
+        if (srcDir == null || destDir == null || listener == null) return false;
+        // 为防止以上这种情况出现出现误判, 需分别在后面加个路径分隔符
+        String srcPath  = srcDir.getPath() + File.separator;
+        String destPath = destDir.getPath() + File.separator;
+        if (destPath.contains(srcPath)) return false;
+        // 源文件不存在或者不是目录则返回 false
+        if (!srcDir.exists() || !srcDir.isDirectory()) return false;
+        if (destDir.exists()) {
+            if (listener.onReplace()) { // 需要覆盖则删除旧目录
+                if (!FileUtils.deleteDir(destDir)) { // 删除文件失败的话返回 false
+                    return false;
+                }
+            } else { // 不需要覆盖直接返回即可 true
+                return true;
+            }
+        }
+        // 同一文件系统直接重命名
+        if (isMove && rename(srcDir, destDir)) {
+            if (progressListener != null) {
+                List<File> files  = new ArrayList<>();
+                long[]     totals = new long[1];
+                scanDir(destDir, null, false, new HashSet<>(), files, files, totals);
+                progressListener.onProgress(totals[0], totals[0], files.size(), files.size());
+            }
+            return true;
+        }
+        // 扫描源目录 ( 目录提前创建 )
+        final List<File> smallFiles = new ArrayList<>();
+        final List<File> largeFiles = new ArrayList<>();
+        final long[]     totals     = new long[1];
+        if (!scanDir(srcDir, destDir, isMove, new HashSet<>(), smallFiles, largeFiles, totals)) {
+            return false;
+        }
+        final long          totalLength  = totals[0];
+        final int           totalCount   = smallFiles.size() + largeFiles.size();
+        final AtomicLong    copiedLength = new AtomicLong();
+        final AtomicInteger copiedCount  = new AtomicInteger();
+        final String        srcRootPath  = srcDir.getAbsolutePath();
+
+        // 小文件并行复制
+        ExecutorService      executor = Executors.newFixedThreadPool(Math.max(1, threadNumber));
+        List<Future<Boolean>> futures  = new ArrayList<>(smallFiles.size());
+        for (final File file : smallFiles) {
+            futures.add(executor.submit(() -> copyDirFile(
+                    file, srcRootPath, destDir, progressListener,
+                    copiedLength, totalLength, copiedCount, totalCount
+            )));
+        }
+        executor.shutdown();
+        boolean result = true;
+        // 大文件顺序复制 ( 受限于磁盘带宽, 并行无收益 )
+        for (File file : largeFiles) {
+            if (!copyDirFile(
+                    file, srcRootPath, destDir, progressListener,
+                    copiedLength, totalLength, copiedCount, totalCount
+            )) {
+                result = false;
+            }
+        }
+        for (Future<Boolean> future : futures) {
+            try {
+                if (!future.get()) result = false;
+            } catch (Exception e) {
+                JCLogUtils.eTag(TAG, e, "copyOrMoveDir");
+                result = false;
+            }
+        }
+        if (!result) return false;
+        return !isMove || FileUtils.deleteDir(srcDir);
+    }
+
+    /**
+     * 扫描目录 ( 跟随符号链接 )
+     * @param dir        扫描目录
+     * @param destDir    目标目录 ( 不为 null 则提前创建目录 )
+     * @param strict     存在非普通文件、目录时是否失败 ( 移动时避免删除未复制的数据 )
+     * @param parents    上级目录规范路径 ( 用于检测循环链接 )
+     * @param smallFiles 小文件集合
+     * @param largeFiles 大文件集合
+     * @param totals     总字节数
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean scanDir(
+            final File dir,
+            final File destDir,
+            final boolean strict,
+            final Set<String> parents,
+            final List<File> smallFiles,
+            final List<File> largeFiles,
+            final long[] totals
+    ) {
+        try {
+            if (destDir != null && !FileUtils.createOrExistsDir(destDir)) return false;
+            // 符号链接指向上级目录则无法复制
+            String canonicalPath = dir.getCanonicalPath();
+            if (!parents.add(canonicalPath)) {
+                JCLogUtils.eTag(TAG, "scanDir file system loop: %s", dir.getAbsolutePath());
+                return false;
+            }
+            File[] files = dir.listFiles();
+            if (files == null) return false;
+            for (File file : files) {
+                if (file.isDirectory()) {
+                    File dest = (destDir != null) ? new File(destDir, file.getName()) : null;
+                    if (!scanDir(file, dest, strict, parents, smallFiles, largeFiles, totals)) {
+                        return false;
+                    }
+                } else if (file.isFile()) {
+                    long length = file.length();
+                    totals[0] += length;
+                    if (length >= LARGE_FILE_LENGTH) {
+                        largeFiles.add(file);
+                    } else {
+                        smallFiles.add(file);
+                    }
+                } else if (strict) {
+                    JCLogUtils.eTag(TAG, "scanDir unsupported file: %s", file.getAbsolutePath());
+                    return false;
+                }
+            }
+            parents.remove(canonicalPath);
+            return true;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "scanDir");
+            return false;
+        }
+    }
+
+    /**
+     * 复制目录下的文件
+     * @param file             源文件
+     * @param srcRootPath      源目录路径
+     * @param destDir          目标目录
+     * @param progressListener 复制进度监听
+     * @param copiedLength     已复制字节数
+     * @param totalLength      总字节数
+     * @param copiedCount      已复制文件数
+     * @param totalCount       文件总数
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean copyDirFile(
+            final File file,
+            final String srcRootPath,
+            final File destDir,
+            final OnProgressListener progressListener,
+            final AtomicLong copiedLength,
+            final long totalLength,
+            final AtomicInteger copiedCount,
+            final int totalCount
+    ) {
+        final long length   = file.length();
+        File       destFile = new File(destDir, file.getAbsolutePath().substring(srcRootPath.length()));
+        return copyFile(file, destFile, () -> {
+            long copied = copiedLength.addAndGet(length);
+            int  count  = copiedCount.incrementAndGet();
+            if (progressListener != null) {
+                progressListener.onProgress(copied, totalLength, count, totalCount);
+            }
+        });
+    }
+}
\ No newline at end of file
@@ -0,0 +1,462 @@
+package dev.utils.common.file;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+
+/**
+ * detail: 文件行数统计 ( 内存映射 + 并行 )
+ * @author Ttt
+ * <pre>
+ *     文件拆分为多个区域分别映射 ( MappedByteBuffer ), 并行统计换行符数量
+ *     每次读取 8 字节 ( SWAR ) 同时判断 \n、\r, 支持 \n、\r\n、\r 换行文件 ( \r\n 只计算一次 )
+ *     可同时获取稀疏行开始字节位置, 用于创建 {@link FileLineIndex}
+ * </pre>
+ */
+public final class FileLineCounter {
+
+    private FileLineCounter() {
+    }
+
+    // 日志 TAG
+    private static final String TAG             = FileLineCounter.class.getSimpleName();
+    // 单个区域最大大小 ( 64mb )
+    private static final long   MAX_REGION_SIZE = 67108864L;
+    // 单个区域最小大小 ( 1mb )
+    private static final long   MIN_REGION_SIZE = 1048576L;
+
+    // SWAR 常量
+    private static final long LOW_BITS  = 0x7F7F7F7F7F7F7F7FL;
+    private static final long LF_BYTES  = 0x0A0A0A0A0A0A0A0AL;
+    private static final long CR_BYTES  = 0x0D0D0D0D0D0D0D0DL;
+    private static final long HIGH_BYTE = 0x8000000000000000L;
+
+    /**
+     * detail: 文件行数统计结果
+     * @author Ttt
+     */
+    public static final class Result {
+
+        // 文件大小
+        private final long    mLength;
+        // 换行符数量
+        private final long    mTerminatorCount;
+        // 文件行数 ( 与 readLine 一致 )
+        private final long    mLineCount;
+        // 文件最后字节是否为换行符
+        private final boolean mEndWithTerminator;
+        // 文件最后字节是否为 \r
+        private final boolean mEndWithCR;
+        // 行开始字节位置间隔行数
+        private final int     mInterval;
+        // 行开始字节位置 ( 第 1、1 + interval、1 + 2 * interval ... 行 )
+        private final long[]  mLineOffsets;
+
+        Result(
+                final long length,
+                final long terminatorCount,
+                final boolean endWithTerminator,
+                final boolean endWithCR,
+                final int interval,
+                final long[] lineOffsets
+        ) {
+            this.mLength            = length;
+            this.mTerminatorCount   = terminatorCount;
+            this.mLineCount         = terminatorCount + (length != 0L && !endWithTerminator ? 1 : 0);
+            this.mEndWithTerminator = endWithTerminator;
+            this.mEndWithCR         = endWithCR;
+            this.mInterval          = interval;
+            this.mLineOffsets       = lineOffsets;
+        }
+
+        /**
+         * 获取文件大小
+         * @return 文件大小
+         */
+        public long getLength() {
+            return mLength;
+        }
+
+        /**
+         * 获取换行符数量
+         * @return 换行符数量
+         */
+        public long getTerminatorCount() {
+            return mTerminatorCount;
+        }
+
+        /**
+         * 获取文件行数 ( 与 readLine 读取行数一致 )
+         * @return 文件行数
+         */
+        public long getLineCount() {
+            return mLineCount;
+        }
+
+        /**
+         * 获取行开始字节位置间隔行数
+         * @return 间隔行数, 未获取行开始字节位置则返回 0
+         */
+        public int getInterval() {
+            return mInterval;
+        }
+
+        /**
+         * 获取行开始字节位置
+         * @return 第 1、1 + interval、1 + 2 * interval ... 行开始字节位置
+         */
+        public long[] getLineOffsets() {
+            return mLineOffsets;
+        }
+
+        /**
+         * 创建文件行偏移索引
+         * @param file 文件
+         * @return {@link FileLineIndex}, 未获取行开始字节位置则返回 null
+         */
+        public FileLineIndex toLineIndex(final File file) {
+            if (file == null || mLineOffsets == null) return null;
+            return new FileLineIndex(
+                    file, mInterval, mLineOffsets, mLineCount, mLength,
+                    mLength == 0L || (mEndWithTerminator && !mEndWithCR), mEndWithCR
+            );
+        }
+    }
+
+    /**
+     * detail: 区域统计数据
+     * @author Ttt
+     */
+    private static final class Region {
+
+        // 区域开始位置
+        final long start;
+        // 区域结束位置
+        final long end;
+        // \n 数量
+        long       lfCount;
+        // \r 数量
+        long       crCount;
+        // 区域内 \r\n 数量
+        long       crlfCount;
+        // 第一个字节是否为 \n
+        boolean    firstLF;
+        // 最后一个字节是否为 \r
+        boolean    lastCR;
+
+        Region(
+                final long start,
+                final long end
+        ) {
+            this.start = start;
+            this.end   = end;
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取默认并发线程数
+     * @return CPU 核心数
+     */
+    public static int getDefaultThreadNumber() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 统计文件行数
+     * @param file 文件
+     * @return {@link Result}
+     */
+    public static Result count(final File file) {
+        return count(file, getDefaultThreadNumber(), 0);
+    }
+
+    /**
+     * 统计文件行数
+     * @param file           文件
+     * @param threadNumber   并发线程数
+     * @param offsetInterval 行开始字节位置间隔行数 ( 小于等于 0 则不获取行开始字节位置 )
+     * @return {@link Result}
+     */
+    public static Result count(
+            final File file,
+            final int threadNumber,
+            final int offsetInterval
+    ) {
+        if (file == null || !file.isFile()) return null;
+        RandomAccessFile raf      = null;
+        ExecutorService  executor = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            final FileChannel channel = raf.getChannel();
+            final long        length  = channel.size();
+            if (length == 0L) {
+                return new Result(0L, 0L, false, false, offsetInterval,
+                        offsetInterval > 0 ? new long[0] : null
+                );
+            }
+            // 拆分区域
+            int  threads    = Math.max(1, threadNumber);
+            long regionSize = Math.max(MIN_REGION_SIZE, Math.min(
+                    MAX_REGION_SIZE, (length + threads - 1) / threads
+            ));
+            List<Region> regions = new ArrayList<>();
+            for (long start = 0L; start < length; start += regionSize) {
+                regions.add(new Region(start, Math.min(length, start + regionSize)));
+            }
+            if (regions.size() == 1) {
+                // 单个区域 ( 小文件或单线程 ) 直接在当前线程统计, 不创建线程池
+                countRegion(channel, regions.get(0));
+            } else {
+                executor = Executors.newFixedThreadPool(Math.min(threads, regions.size()));
+                // 并行统计换行符
+                List<Callable<Object>> tasks = new ArrayList<>(regions.size());
+                for (final Region region : regions) {
+                    tasks.add(() -> {
+                        countRegion(channel, region);
+                        return null;
+                    });
+                }
+                for (Future<Object> future : executor.invokeAll(tasks)) {
+                    future.get();
+                }
+            }
+            // 合并结果 ( 区域开始行数 )
+            long[] lineBases  = new long[regions.size()];
+            long   terminator = 0L;
+            for (int i = 0, len = regions.size(); i < len; i++) {
+                Region region = regions.get(i);
+                lineBases[i] = terminator;
+                terminator += region.lfCount + region.crCount - region.crlfCount;
+                // 跨区域 \r\n
+                if (region.lastCR && i + 1 < len && regions.get(i + 1).firstLF) terminator--;
+            }
+            Region  last              = regions.get(regions.size() - 1);
+            byte    lastByte          = readByte(channel, length - 1);
+            boolean endWithTerminator = lastByte == '\n' || lastByte == '\r';
+            long[]  lineOffsets       = null;
+            if (offsetInterval > 0) {
+                lineOffsets = collectOffsets(
+                        executor, channel, regions, lineBases, length, offsetInterval
+                );
+            }
+            return new Result(
+                    length, terminator, endWithTerminator, last.lastCR, offsetInterval, lineOffsets
+            );
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "count");
+        } finally {
+            if (executor != null) executor.shutdownNow();
+            CloseUtils.closeIOQuietly(raf);
+        }
+        return null;
+    }
+
+    /**
+     * 统计文件行数并创建文件行偏移索引 ( 并加入缓存 )
+     * @param file 文件
+     * @return {@link FileLineIndex}
+     */
+    public static FileLineIndex buildLineIndex(final File file) {
+        Result result = count(file, getDefaultThreadNumber(), FileLineIndex.DEFAULT_INTERVAL);
+        if (result == null) return null;
+        FileLineIndex index = result.toLineIndex(file);
+        FileLineIndex.put(index);
+        return index;
+    }
+
+    // ============
+    // = 内部处理 =
+    // ============
+
+    /**
+     * 统计区域换行符数量 ( SWAR )
+     * @param channel {@link FileChannel}
+     * @param region  区域统计数据
+     * @throws Exception 读取失败
+     */
+    private static void countRegion(
+            final FileChannel channel,
+            final Region region
+    )
+            throws Exception {
+        int        size   = (int) (region.end - region.start);
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, region.start, size)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        long    lfCount   = 0L;
+        long    crCount   = 0L;
+        long    crlfCount = 0L;
+        boolean prevCR    = false;
+        int     i         = 0;
+        for (int words = size & ~7; i < words; i += 8) {
+            long word   = buffer.getLong(i);
+            long lfMask = zeroBytes(word ^ LF_BYTES);
+            long crMask = zeroBytes(word ^ CR_BYTES);
+            if ((lfMask | crMask) == 0L) {
+                prevCR = false;
+                continue;
+            }
+            lfCount += Long.bitCount(lfMask);
+            crCount += Long.bitCount(crMask);
+            // 字节 i 为 \r 且字节 i + 1 为 \n ( 小端序 )
+            crlfCount += Long.bitCount((crMask << 8) & lfMask);
+            if (prevCR && (lfMask & 0x80L) != 0L) crlfCount++;
+            prevCR = (crMask & HIGH_BYTE) != 0L;
+        }
+        for (; i < size; i++) {
+            byte value = buffer.get(i);
+            if (value == '\n') {
+                lfCount++;
+                if (prevCR) crlfCount++;
+                prevCR = false;
+            } else if (value == '\r') {
+                crCount++;
+                prevCR = true;
+            } else {
+                prevCR = false;
+            }
+        }
+        region.lfCount   = lfCount;
+        region.crCount   = crCount;
+        region.crlfCount = crlfCount;
+        region.firstLF   = buffer.get(0) == '\n';
+        region.lastCR    = buffer.get(size - 1) == '\r';
+    }
+
+    /**
+     * 获取零字节掩码 ( 零字节最高位为 1, 无误判 )
+     * @param value 8 字节数据
+     * @return 零字节掩码
+     */
+    private static long zeroBytes(final long value) {
+        long temp = (value & LOW_BITS) + LOW_BITS;
+        return ~(temp | value | LOW_BITS);
+    }
+
+    /**
+     * 并行获取行开始字节位置
+     * @param executor  线程池 ( 为 null 则在当前线程获取 )
+     * @param channel   {@link FileChannel}
+     * @param regions   区域统计数据
+     * @param lineBases 区域开始前换行符数量
+     * @param length    文件大小
+     * @param interval  间隔行数
+     * @return 行开始字节位置
+     * @throws Exception 读取失败
+     */
+    private static long[] collectOffsets(
+            final ExecutorService executor,
+            final FileChannel channel,
+            final List<Region> regions,
+            final long[] lineBases,
+            final long length,
+            final int interval
+    )
+            throws Exception {
+        List<Callable<long[]>> tasks = new ArrayList<>(regions.size());
+        for (int i = 0, len = regions.size(); i < len; i++) {
+            final Region region   = regions.get(i);
+            final long   lineBase = lineBases[i];
+            tasks.add(() -> regionOffsets(channel, region, lineBase, length, interval));
+        }
+        List<long[]> results = new ArrayList<>(regions.size());
+        int          total   = 1;
+        if (executor == null) {
+            for (Callable<long[]> task : tasks) {
+                long[] offsets = task.call();
+                results.add(offsets);
+                total += offsets.length;
+            }
+        } else {
+            for (Future<long[]> future : executor.invokeAll(tasks)) {
+                long[] offsets = future.get();
+                results.add(offsets);
+                total += offsets.length;
+            }
+        }
+        // 第 1 行开始位置为 0
+        long[] lineOffsets = new long[total];
+        int    index       = 1;
+        for (long[] offsets : results) {
+            System.arraycopy(offsets, 0, lineOffsets, index, offsets.length);
+            index += offsets.length;
+        }
+        return lineOffsets;
+    }
+
+    /**
+     * 获取区域内行开始字节位置
+     * @param channel  {@link FileChannel}
+     * @param region   区域统计数据
+     * @param lineBase 区域开始前换行符数量
+     * @param length   文件大小
+     * @param interval 间隔行数
+     * @return 行开始字节位置
+     * @throws Exception 读取失败
+     */
+    private static long[] regionOffsets(
+            final FileChannel channel,
+            final Region region,
+            final long lineBase,
+            final long length,
+            final int interval
+    )
+            throws Exception {
+        int        size    = (int) (region.end - region.start);
+        ByteBuffer buffer  = channel.map(FileChannel.MapMode.READ_ONLY, region.start, size);
+        byte       next    = region.end < length ? readByte(channel, region.end) : 0;
+        long[]     offsets = new long[16];
+        int        count   = 0;
+        long       line    = lineBase;
+        for (int i = 0; i < size; i++) {
+            byte value = buffer.get(i);
+            if (value == '\n' || (value == '\r' && (i + 1 < size ? buffer.get(i + 1) : next) != '\n')) {
+                // 换行符后为第 line + 2 行开始位置
+                line++;
+                long offset = region.start + i + 1;
+                if (line % interval == 0 && offset < length) {
+                    if (count == offsets.length) {
+                        long[] temp = new long[count << 1];
+                        System.arraycopy(offsets, 0, temp, 0, count);
+                        offsets = temp;
+                    }
+                    offsets[count++] = offset;
+                }
+            }
+        }
+        long[] result = new long[count];
+        System.arraycopy(offsets, 0, result, 0, count);
+        return result;
+    }
+
+    /**
+     * 读取指定位置字节
+     * @param channel  {@link FileChannel}
+     * @param position 字节位置
+     * @return 字节值
+     * @throws Exception 读取失败
+     */
+    private static byte readByte(
+            final FileChannel channel,
+            final long position
+    )
+            throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(1);
+        channel.read(buffer, position);
+        return buffer.get(0);
+    }
+}
\ No newline at end of file
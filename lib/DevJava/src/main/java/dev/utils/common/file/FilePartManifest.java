@@ -0,0 +1,244 @@
+package dev.utils.common.file;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.util.Properties;
+
+import dev.utils.JCLogUtils;
+import dev.utils.common.CloseUtils;
+
+/**
+ * detail: 文件分片清单
+ * @author Ttt
+ * <pre>
+ *     与 {@link FilePartUtils#PART_SUFFIX} 分片文件存储在同一文件夹
+ *     记录原始文件大小、分片数量及每个分片范围 ( start、end ) 和 CRC32 校验值
+ *     用于分片拆分、合并中断后继续处理 ( 已校验的分片跳过, 只处理缺失或损坏的分片 )
+ * </pre>
+ */
+public final class FilePartManifest {
+
+    // 日志 TAG
+    private static final String TAG = FilePartManifest.class.getSimpleName();
+
+    // 清单 key
+    private static final String KEY_FILE_NAME        = "fileName";
+    private static final String KEY_FILE_BYTE_LENGTH = "fileByteLength";
+    private static final String KEY_PART_COUNT       = "partCount";
+    private static final String KEY_PART_PREFIX      = "part.";
+
+    // 原始文件名
+    private final String fileName;
+    // 原始文件总字节
+    private final long   fileByteLength;
+    // 分片字节开始索引
+    private final long[] starts;
+    // 分片字节结束索引
+    private final long[] ends;
+    // 分片 CRC32 值 ( -1 表示未校验 )
+    private final long[] crcs;
+
+    /**
+     * 构造函数
+     * @param fileName       原始文件名
+     * @param fileByteLength 原始文件总字节
+     * @param partCount      分片总数
+     */
+    public FilePartManifest(
+            final String fileName,
+            final long fileByteLength,
+            final int partCount
+    ) {
+        this.fileName       = fileName;
+        this.fileByteLength = fileByteLength;
+        this.starts         = new long[Math.max(0, partCount)];
+        this.ends           = new long[Math.max(0, partCount)];
+        this.crcs           = new long[Math.max(0, partCount)];
+        for (int i = 0; i < crcs.length; i++) {
+            starts[i] = -1L;
+            ends[i]   = -1L;
+            crcs[i]   = -1L;
+        }
+    }
+
+    /**
+     * 构造函数
+     * @param assist {@link FilePartAssist}
+     */
+    public FilePartManifest(final FilePartAssist assist) {
+        this(
+                assist.getFileName(),
+                assist.existsPart() ? assist.getFilePartItem(0).fileByteLength : 0L,
+                assist.getPartCount()
+        );
+        for (int i = 0, len = assist.getPartCount(); i < len; i++) {
+            FilePartItem item = assist.getFilePartItem(i);
+            starts[i] = item.start;
+            ends[i]   = item.end;
+        }
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取原始文件名
+     * @return 原始文件名
+     */
+    public String getFileName() {
+        return fileName;
+    }
+
+    /**
+     * 获取原始文件总字节
+     * @return 原始文件总字节
+     */
+    public long getFileByteLength() {
+        return fileByteLength;
+    }
+
+    /**
+     * 获取分片总数
+     * @return 分片总数
+     */
+    public int getPartCount() {
+        return crcs.length;
+    }
+
+    /**
+     * 获取分片 CRC32 值
+     * @param partIndex 分片索引
+     * @return 分片 CRC32 值, 未校验则返回 -1
+     */
+    public long getPartCRC(final int partIndex) {
+        if (partIndex < 0 || partIndex >= crcs.length) return -1L;
+        return crcs[partIndex];
+    }
+
+    /**
+     * 分片是否已校验
+     * @param partIndex 分片索引
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isPartVerified(final int partIndex) {
+        return getPartCRC(partIndex) >= 0L;
+    }
+
+    /**
+     * 是否全部分片已校验
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isAllVerified() {
+        for (long crc : crcs) {
+            if (crc < 0L) return false;
+        }
+        return crcs.length != 0;
+    }
+
+    /**
+     * 设置分片 CRC32 值
+     * @param item {@link FilePartItem}
+     * @param crc  CRC32 值
+     * @return {@link FilePartManifest}
+     */
+    public FilePartManifest setPartCRC(
+            final FilePartItem item,
+            final long crc
+    ) {
+        if (item != null && item.partIndex >= 0 && item.partIndex < crcs.length) {
+            starts[item.partIndex] = item.start;
+            ends[item.partIndex]   = item.end;
+            crcs[item.partIndex]   = crc;
+        }
+        return this;
+    }
+
+    /**
+     * 判断分片信息是否与清单一致
+     * @param assist {@link FilePartAssist}
+     * @return {@code true} yes, {@code false} no
+     */
+    public boolean isMatch(final FilePartAssist assist) {
+        if (assist == null || assist.getPartCount() != crcs.length) return false;
+        for (int i = 0, len = crcs.length; i < len; i++) {
+            FilePartItem item = assist.getFilePartItem(i);
+            if (item.fileByteLength != fileByteLength) return false;
+            if (starts[i] != item.start || ends[i] != item.end) return false;
+        }
+        return true;
+    }
+
+    // =
+
+    /**
+     * 读取清单文件
+     * @param manifestFile 清单文件
+     * @return {@link FilePartManifest}
+     */
+    public static FilePartManifest read(final File manifestFile) {
+        if (manifestFile == null || !manifestFile.isFile()) return null;
+        FileInputStream fis = null;
+        try {
+            fis = new FileInputStream(manifestFile);
+            Properties properties = new Properties();
+            properties.load(fis);
+            FilePartManifest manifest = new FilePartManifest(
+                    properties.getProperty(KEY_FILE_NAME),
+                    Long.parseLong(properties.getProperty(KEY_FILE_BYTE_LENGTH)),
+                    Integer.parseInt(properties.getProperty(KEY_PART_COUNT))
+            );
+            for (int i = 0, len = manifest.getPartCount(); i < len; i++) {
+                String value = properties.getProperty(KEY_PART_PREFIX + i);
+                if (value == null) continue;
+                // start,end,crc32
+                String[] values = value.split(",");
+                manifest.starts[i] = Long.parseLong(values[0]);
+                manifest.ends[i]   = Long.parseLong(values[1]);
+                manifest.crcs[i]   = values[2].length() == 0 ? -1L : Long.parseLong(values[2], 16);
+            }
+            return manifest;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "read");
+        } finally {
+            CloseUtils.closeIOQuietly(fis);
+        }
+        return null;
+    }
+
+    /**
+     * 写入清单文件 ( 先写入临时文件再重命名, 防止写入中断导致清单损坏 )
+     * @param manifestFile 清单文件
+     * @return {@code true} success, {@code false} fail
+     */
+    public boolean write(final File manifestFile) {
+        if (manifestFile == null) return false;
+        File             tempFile = new File(manifestFile.getPath() + ".tmp");
+        FileOutputStream fos      = null;
+        try {
+            Properties properties = new Properties();
+            if (fileName != null) properties.setProperty(KEY_FILE_NAME, fileName);
+            properties.setProperty(KEY_FILE_BYTE_LENGTH, String.valueOf(fileByteLength));
+            properties.setProperty(KEY_PART_COUNT, String.valueOf(crcs.length));
+            for (int i = 0, len = crcs.length; i < len; i++) {
+                properties.setProperty(
+                        KEY_PART_PREFIX + i, starts[i] + "," + ends[i] + ","
+                                + (crcs[i] < 0L ? "" : Long.toHexString(crcs[i]))
+                );
+            }
+            fos = new FileOutputStream(tempFile);
+            properties.store(fos, TAG);
+            fos.getFD().sync();
+            fos.close();
+            fos = null;
+            if (manifestFile.exists() && !manifestFile.delete()) return false;
+            return tempFile.renameTo(manifestFile);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "write");
+        } finally {
+            CloseUtils.closeIOQuietly(fos);
+        }
+        return false;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package dev.utils.common.file;
+
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import dev.utils.common.ConvertUtils;
+
+/**
+ * detail: 文件分片树形摘要 ( Tree Hash )
+ * @author Ttt
+ * <pre>
+ *     每个分片 ( {@link FilePartItem} ) 单独计算摘要值, 根摘要值 = 摘要算法 ( 按顺序拼接全部分片摘要值 )
+ *     可通过 {@link #getChangedParts(FilePartTreeHash)} 对比获取发生变化的分片, 只校验、重传变化部分
+ * </pre>
+ */
+public final class FilePartTreeHash {
+
+    // 摘要算法
+    private final String       algorithm;
+    // 分片摘要值 ( 按分片索引顺序 )
+    private final List<byte[]> partDigests;
+    // 根摘要值
+    private final byte[]       rootDigest;
+
+    /**
+     * 构造函数
+     * @param algorithm   摘要算法
+     * @param partDigests 分片摘要值 ( 按分片索引顺序 )
+     * @throws Exception 摘要算法不支持
+     */
+    public FilePartTreeHash(
+            final String algorithm,
+            final List<byte[]> partDigests
+    )
+            throws Exception {
+        this.algorithm   = algorithm;
+        this.partDigests = Collections.unmodifiableList(new ArrayList<>(partDigests));
+        MessageDigest digest = MessageDigest.getInstance(algorithm);
+        for (byte[] partDigest : partDigests) {
+            digest.update(partDigest);
+        }
+        this.rootDigest = digest.digest();
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取摘要算法
+     * @return 摘要算法
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * 获取分片数量
+     * @return 分片数量
+     */
+    public int getPartCount() {
+        return partDigests.size();
+    }
+
+    /**
+     * 获取全部分片摘要值
+     * @return 分片摘要值集合
+     */
+    public List<byte[]> getPartDigests() {
+        return partDigests;
+    }
+
+    /**
+     * 获取指定分片摘要值
+     * @param partIndex 分片索引
+     * @return 分片摘要值
+     */
+    public byte[] getPartDigest(final int partIndex) {
+        if (partIndex < 0 || partIndex >= partDigests.size()) return null;
+        return partDigests.get(partIndex);
+    }
+
+    /**
+     * 获取指定分片摘要值
+     * @param partIndex 分片索引
+     * @return 分片摘要值转十六进制字符串
+     */
+    public String getPartHexString(final int partIndex) {
+        return ConvertUtils.toHexString(getPartDigest(partIndex));
+    }
+
+    /**
+     * 获取根摘要值
+     * @return 根摘要值
+     */
+    public byte[] getRootDigest() {
+        return rootDigest;
+    }
+
+    /**
+     * 获取根摘要值
+     * @return 根摘要值转十六进制字符串
+     */
+    public String getRootHexString() {
+        return ConvertUtils.toHexString(rootDigest);
+    }
+
+    /**
+     * 获取发生变化的分片索引
+     * <pre>
+     *     分片数量或算法不一致时返回全部分片索引
+     * </pre>
+     * @param other 对比树形摘要
+     * @return 发生变化的分片索引集合
+     */
+    public List<Integer> getChangedParts(final FilePartTreeHash other) {
+        List<Integer> changed = new ArrayList<>();
+        boolean sameLayout = other != null && algorithm.equals(other.algorithm)
+                && partDigests.size() == other.partDigests.size();
+        for (int i = 0, len = partDigests.size(); i < len; i++) {
+            if (!sameLayout || !Arrays.equals(partDigests.get(i), other.partDigests.get(i))) {
+                changed.add(i);
+            }
+        }
+        return changed;
+    }
+}
\ No newline at end of file
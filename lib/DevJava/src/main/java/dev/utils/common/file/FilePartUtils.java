@@ -1,12 +1,20 @@
 package dev.utils.common.file;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.CRC32;
 
 import dev.utils.JCLogUtils;
 import dev.utils.common.CloseUtils;
@@ -33,13 +41,17 @@ public final class FilePartUtils {
     }
 
     // 日志 TAG
-    private static final String TAG         = FilePartUtils.class.getSimpleName();
+    private static final String TAG             = FilePartUtils.class.getSimpleName();
     // 分片文件后缀
-    public static final  String PART_SUFFIX = "_part_";
+    public static final  String PART_SUFFIX     = "_part_";
+    // 分片清单文件后缀 ( 原文件名 + PART_SUFFIX + MANIFEST_SUFFIX )
+    public static final  String MANIFEST_SUFFIX = "manifest";
     // 分片数量
-    public static final  int    PART_COUNT  = 10;
+    public static final  int    PART_COUNT      = 10;
     // 分片片段允许最小值 byte ( 默认 1mb )
-    public static final  long   MIN_LENGTH  = 1048576L;
+    public static final  long   MIN_LENGTH      = 1048576L;
+    // 分片读取缓冲区大小
+    private static final int    BUFFER_SIZE     = 262144;
 
     // =============
     // = 对外公开方法 =
@@ -347,8 +359,7 @@ public final class FilePartUtils {
                 inputChannel  = fis.getChannel();
                 fos           = new FileOutputStream(new File(destFolderPath, partName));
                 outputChannel = fos.getChannel();
-                inputChannel.transferTo(start, (int) (end - start), outputChannel);
-                return true;
+                return transferFully(inputChannel, start, end - start, outputChannel, 0L);
             } catch (Exception e) {
                 JCLogUtils.eTag(TAG, e, "fileSplitSave");
             } finally {
@@ -499,6 +510,35 @@ public final class FilePartUtils {
         return true;
     }
 
+    /**
+     * 文件拆分并存储 ( 并行拆分 )
+     * @param file           文件
+     * @param assist         {@link FilePartAssist}
+     * @param destFolderPath 存储目标文件夹地址
+     * @param threadNumber   并发线程数
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean fileSplitSavesParallel(
+            final File file,
+            final FilePartAssist assist,
+            final String destFolderPath,
+            final int threadNumber
+    ) {
+        if (file == null || assist == null) return false;
+        if (!assist.existsPart()) return false;
+        final String fileName = FileUtils.getFileName(file);
+        if (fileName == null) return false;
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0, len = assist.getPartCount(); i < len; i++) {
+            final FilePartItem item = assist.getFilePartItem(i);
+            if (item == null) return false;
+            tasks.add(() -> fileSplitSave(
+                    file, item.start, item.end, destFolderPath, item.getPartName(fileName)
+            ));
+        }
+        return invokeAll(tasks, threadNumber, "fileSplitSavesParallel");
+    }
+
     // ==========
     // = 分片删除 =
     // ==========
@@ -695,13 +735,16 @@ public final class FilePartUtils {
         RandomAccessFile reader = null;
         try {
             raf = new RandomAccessFile(file, "rw");
+            FileChannel channel  = raf.getChannel();
+            long        position = 0L;
             for (int i = 0, len = files.size(); i < len; i++) {
                 reader = new RandomAccessFile(files.get(i), "r");
-                byte[] buffer = new byte[1024];
-                int    readLen; // 读取的字节数
-                while ((readLen = reader.read(buffer)) != -1) {
-                    raf.write(buffer, 0, readLen);
+                FileChannel readerChannel = reader.getChannel();
+                long        length        = readerChannel.size();
+                if (!transferFully(readerChannel, 0L, length, channel, position)) {
+                    throw new Exception("transfer part failed: " + files.get(i));
                 }
+                position += length;
                 CloseUtils.closeIOQuietly(reader);
             }
             return true;
@@ -762,4 +805,504 @@ public final class FilePartUtils {
         }
         return false;
     }
+
+    /**
+     * 分片合并 ( 并行写入 )
+     * <pre>
+     *     根据分片文件大小计算每个分片在目标文件中的位置, 预分配目标文件大小后
+     *     各分片并行通过 transferFrom 写入各自位置
+     * </pre>
+     * @param file         文件
+     * @param files        待合并文件 ( 按顺序 )
+     * @param threadNumber 并发线程数
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean fileSplitMergeFilesParallel(
+            final File file,
+            final List<File> files,
+            final int threadNumber
+    ) {
+        if (file == null || files == null) return false;
+        if (files.isEmpty()) return false;
+        long[] starts = new long[files.size()];
+        long[] ends   = new long[files.size()];
+        long   total  = 0L;
+        for (int i = 0, len = files.size(); i < len; i++) {
+            File partFile = files.get(i);
+            if (partFile == null || !partFile.isFile()) return false;
+            starts[i] = total;
+            total += partFile.length();
+            ends[i]   = total;
+        }
+        return fileSplitMergeParallel(file, files, starts, ends, threadNumber);
+    }
+
+    /**
+     * 分片合并 ( 并行写入 )
+     * @param file           文件
+     * @param assist         {@link FilePartAssist}
+     * @param destFolderPath 分片所在文件夹地址
+     * @param fileName       原文件名
+     * @param threadNumber   并发线程数
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean fileSplitMergeParallel(
+            final File file,
+            final FilePartAssist assist,
+            final String destFolderPath,
+            final String fileName,
+            final int threadNumber
+    ) {
+        if (file == null || assist == null || destFolderPath == null || fileName == null) {
+            return false;
+        }
+        if (!assist.existsPart()) return false;
+        int        partCount = assist.getPartCount();
+        List<File> files     = new ArrayList<>(partCount);
+        long[]     starts    = new long[partCount];
+        long[]     ends      = new long[partCount];
+        for (int i = 0; i < partCount; i++) {
+            FilePartItem item     = assist.getFilePartItem(i);
+            File         partFile = new File(destFolderPath, item.getPartName(fileName));
+            // 分片文件大小需与分片信息一致
+            if (!partFile.isFile() || partFile.length() != item.end - item.start) return false;
+            files.add(partFile);
+            starts[i] = item.start;
+            ends[i]   = item.end;
+        }
+        return fileSplitMergeParallel(file, files, starts, ends, threadNumber);
+    }
+
+    /**
+     * 分片合并 ( 并行写入 )
+     * @param file         文件
+     * @param files        待合并文件
+     * @param starts       分片写入开始位置
+     * @param ends         分片写入结束位置
+     * @param threadNumber 并发线程数
+     * @return {@code true} success, {@code false} fail
+     */
+    private static boolean fileSplitMergeParallel(
+            final File file,
+            final List<File> files,
+            final long[] starts,
+            final long[] ends,
+            final int threadNumber
+    ) {
+        FileUtils.deleteFile(file);
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "rw");
+            // 预分配目标文件大小
+            raf.setLength(ends[ends.length - 1]);
+            final FileChannel       channel = raf.getChannel();
+            List<Callable<Boolean>> tasks   = new ArrayList<>(files.size());
+            for (int i = 0, len = files.size(); i < len; i++) {
+                final File partFile = files.get(i);
+                final long start    = starts[i];
+                final long length   = ends[i] - starts[i];
+                tasks.add(() -> {
+                    RandomAccessFile reader = null;
+                    try {
+                        reader = new RandomAccessFile(partFile, "r");
+                        return transferFully(reader.getChannel(), 0L, length, channel, start);
+                    } finally {
+                        CloseUtils.closeIOQuietly(reader);
+                    }
+                });
+            }
+            if (invokeAll(tasks, threadNumber, "fileSplitMergeParallel")) {
+                return true;
+            }
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "fileSplitMergeParallel");
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+        FileUtils.deleteFile(file);
+        return false;
+    }
+
+    // ==========
+    // = 分片摘要 =
+    // ==========
+
+    /**
+     * 获取默认并发线程数
+     * @return CPU 核心数
+     */
+    public static int getDefaultThreadNumber() {
+        return Math.max(1, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * 分片树形摘要 ( 并行计算每个分片摘要值 )
+     * @param filePath  文件路径
+     * @param assist    {@link FilePartAssist}
+     * @param algorithm 摘要算法
+     * @return {@link FilePartTreeHash}
+     */
+    public static FilePartTreeHash fileTreeHash(
+            final String filePath,
+            final FilePartAssist assist,
+            final String algorithm
+    ) {
+        return fileTreeHash(FileUtils.getFile(filePath), assist, algorithm, getDefaultThreadNumber());
+    }
+
+    /**
+     * 分片树形摘要 ( 并行计算每个分片摘要值 )
+     * @param file      文件
+     * @param assist    {@link FilePartAssist}
+     * @param algorithm 摘要算法
+     * @return {@link FilePartTreeHash}
+     */
+    public static FilePartTreeHash fileTreeHash(
+            final File file,
+            final FilePartAssist assist,
+            final String algorithm
+    ) {
+        return fileTreeHash(file, assist, algorithm, getDefaultThreadNumber());
+    }
+
+    /**
+     * 分片树形摘要 ( 并行计算每个分片摘要值 )
+     * <pre>
+     *     共用同一个 FileChannel, 各分片通过指定位置读取 ( positional read ) 互不影响
+     * </pre>
+     * @param file         文件
+     * @param assist       {@link FilePartAssist}
+     * @param algorithm    摘要算法
+     * @param threadNumber 并发线程数
+     * @return {@link FilePartTreeHash}
+     */
+    public static FilePartTreeHash fileTreeHash(
+            final File file,
+            final FilePartAssist assist,
+            final String algorithm,
+            final int threadNumber
+    ) {
+        if (file == null || assist == null || algorithm == null) return null;
+        if (!assist.existsPart() || !file.exists()) return null;
+        RandomAccessFile raf      = null;
+        ExecutorService  executor = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            final FileChannel channel = raf.getChannel();
+            // 校验算法
+            MessageDigest.getInstance(algorithm);
+
+            int partCount = assist.getPartCount();
+            executor = Executors.newFixedThreadPool(
+                    Math.max(1, Math.min(threadNumber, partCount))
+            );
+            List<Future<byte[]>> futures = new ArrayList<>(partCount);
+            for (int i = 0; i < partCount; i++) {
+                final FilePartItem item = assist.getFilePartItem(i);
+                futures.add(executor.submit(
+                        () -> filePartDigest(channel, item.start, item.end, algorithm)
+                ));
+            }
+            List<byte[]> partDigests = new ArrayList<>(partCount);
+            for (Future<byte[]> future : futures) {
+                partDigests.add(future.get());
+            }
+            return new FilePartTreeHash(algorithm, partDigests);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "fileTreeHash");
+        } finally {
+            if (executor != null) executor.shutdownNow();
+            CloseUtils.closeIOQuietly(raf);
+        }
+        return null;
+    }
+
+    /**
+     * 计算文件指定位置数据摘要值
+     * @param channel   {@link FileChannel}
+     * @param start     分片字节开始索引
+     * @param end       分片字节结束索引
+     * @param algorithm 摘要算法
+     * @return 摘要值
+     * @throws Exception 读取失败或文件长度不足
+     */
+    private static byte[] filePartDigest(
+            final FileChannel channel,
+            final long start,
+            final long end,
+            final String algorithm
+    )
+            throws Exception {
+        MessageDigest digest   = MessageDigest.getInstance(algorithm);
+        ByteBuffer    buffer   = ByteBuffer.allocate(BUFFER_SIZE);
+        long          position = start;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, end - position));
+            int read = channel.read(buffer, position);
+            // 文件长度小于分片范围 ( 文件已被截断 ) 则摘要值无效
+            if (read < 0) throw new EOFException("position: " + position + ", end: " + end);
+            buffer.flip();
+            digest.update(buffer);
+            position += read;
+        }
+        return digest.digest();
+    }
+
+    // ==============
+    // = 分片断点续传 =
+    // ==============
+
+    /**
+     * 获取分片清单文件名
+     * @param fileName 原文件名
+     * @return 分片清单文件名
+     */
+    public static String getManifestName(final String fileName) {
+        return String.format("%s%s%s", fileName, PART_SUFFIX, MANIFEST_SUFFIX);
+    }
+
+    /**
+     * 读取分片清单
+     * @param destFolderPath 分片所在文件夹地址
+     * @param fileName       原文件名
+     * @return {@link FilePartManifest}
+     */
+    public static FilePartManifest readManifest(
+            final String destFolderPath,
+            final String fileName
+    ) {
+        if (destFolderPath == null || fileName == null) return null;
+        return FilePartManifest.read(new File(destFolderPath, getManifestName(fileName)));
+    }
+
+    /**
+     * 文件拆分并存储 ( 断点续传 )
+     * <pre>
+     *     分片文件同一文件夹下存储分片清单 ( 记录每个分片范围及 CRC32 值 )
+     *     已存在且校验通过的分片直接跳过, 只重新拆分缺失或损坏的分片
+     *     每个分片完成后立即更新清单, 中断后再次调用即可继续
+     * </pre>
+     * @param file           文件
+     * @param assist         {@link FilePartAssist}
+     * @param destFolderPath 存储目标文件夹地址
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean fileSplitSavesResumable(
+            final File file,
+            final FilePartAssist assist,
+            final String destFolderPath
+    ) {
+        if (file == null || assist == null || destFolderPath == null) return false;
+        if (!assist.existsPart() || !file.isFile()) return false;
+        String fileName = FileUtils.getFileName(file);
+        if (fileName == null) return false;
+        File             manifestFile = new File(destFolderPath, getManifestName(fileName));
+        FilePartManifest manifest     = FilePartManifest.read(manifestFile);
+        // 分片信息不一致则重新记录
+        if (manifest == null || !manifest.isMatch(assist)) {
+            manifest = new FilePartManifest(assist);
+        }
+        for (int i = 0, len = assist.getPartCount(); i < len; i++) {
+            FilePartItem item     = assist.getFilePartItem(i);
+            File         partFile = new File(destFolderPath, item.getPartName(fileName));
+            // 已校验分片跳过
+            if (manifest.isPartVerified(i) && partFile.length() == item.end - item.start
+                    && filePartCRC(partFile, 0L, item.end - item.start) == manifest.getPartCRC(i)) {
+                continue;
+            }
+            if (!fileSplitSave(file, item.start, item.end, destFolderPath, partFile.getName())) {
+                return false;
+            }
+            long crc = filePartCRC(partFile, 0L, item.end - item.start);
+            if (crc < 0L) return false;
+            if (!manifest.setPartCRC(item, crc).write(manifestFile)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * 分片合并 ( 断点续传 )
+     * <pre>
+     *     依据分片清单校验分片文件, 目标文件中已写入且校验通过的分片直接跳过
+     *     只写入缺失或损坏的分片, 合并失败不删除目标文件 ( 再次调用继续合并 )
+     *     分片文件损坏 ( 与清单 CRC32 不一致 ) 则返回 false, 需重新获取该分片
+     * </pre>
+     * @param file           文件
+     * @param assist         {@link FilePartAssist}
+     * @param destFolderPath 分片所在文件夹地址
+     * @param fileName       原文件名
+     * @return {@code true} success, {@code false} fail
+     */
+    public static boolean fileSplitMergeResumable(
+            final File file,
+            final FilePartAssist assist,
+            final String destFolderPath,
+            final String fileName
+    ) {
+        if (file == null || assist == null || destFolderPath == null || fileName == null) {
+            return false;
+        }
+        if (!assist.existsPart()) return false;
+        FilePartManifest manifest = readManifest(destFolderPath, fileName);
+        if (manifest == null || !manifest.isMatch(assist) || !manifest.isAllVerified()) {
+            return false;
+        }
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "rw");
+            if (raf.length() != manifest.getFileByteLength()) {
+                raf.setLength(manifest.getFileByteLength());
+            }
+            FileChannel channel = raf.getChannel();
+            boolean     result  = true;
+            for (int i = 0, len = assist.getPartCount(); i < len; i++) {
+                FilePartItem item = assist.getFilePartItem(i);
+                long         crc  = manifest.getPartCRC(i);
+                // 目标文件已写入该分片
+                if (filePartCRC(channel, item.start, item.end) == crc) continue;
+                File partFile = new File(destFolderPath, item.getPartName(fileName));
+                long length   = item.end - item.start;
+                if (partFile.length() != length || filePartCRC(partFile, 0L, length) != crc) {
+                    JCLogUtils.dTag(TAG, "fileSplitMergeResumable part %s corrupt", i);
+                    result = false;
+                    continue;
+                }
+                RandomAccessFile reader = null;
+                try {
+                    reader = new RandomAccessFile(partFile, "r");
+                    if (!transferFully(reader.getChannel(), 0L, length, channel, item.start)) {
+                        result = false;
+                    }
+                } finally {
+                    CloseUtils.closeIOQuietly(reader);
+                }
+            }
+            return result;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "fileSplitMergeResumable");
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+        return false;
+    }
+
+    /**
+     * 计算文件指定位置数据 CRC32 值
+     * @param file  文件
+     * @param start 字节开始索引
+     * @param end   字节结束索引
+     * @return CRC32 值, 失败则返回 -1
+     */
+    private static long filePartCRC(
+            final File file,
+            final long start,
+            final long end
+    ) {
+        if (file == null || !file.isFile()) return -1L;
+        RandomAccessFile raf = null;
+        try {
+            raf = new RandomAccessFile(file, "r");
+            return filePartCRC(raf.getChannel(), start, end);
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, "filePartCRC");
+        } finally {
+            CloseUtils.closeIOQuietly(raf);
+        }
+        return -1L;
+    }
+
+    /**
+     * 计算文件指定位置数据 CRC32 值
+     * @param channel {@link FileChannel}
+     * @param start   字节开始索引
+     * @param end     字节结束索引
+     * @return CRC32 值, 数据不足则返回 -1
+     * @throws Exception 读取失败
+     */
+    private static long filePartCRC(
+            final FileChannel channel,
+            final long start,
+            final long end
+    )
+            throws Exception {
+        CRC32      crc32    = new CRC32();
+        ByteBuffer buffer   = ByteBuffer.allocate(BUFFER_SIZE);
+        long       position = start;
+        while (position < end) {
+            buffer.clear();
+            buffer.limit((int) Math.min(BUFFER_SIZE, end - position));
+            int read = channel.read(buffer, position);
+            if (read <= 0) return -1L;
+            // CRC32.update(ByteBuffer) 需要 Android API 26
+            crc32.update(buffer.array(), buffer.arrayOffset(), read);
+            position += read;
+        }
+        return crc32.getValue();
+    }
+
+    // ==========
+    // = 内部处理 =
+    // ==========
+
+    /**
+     * 通道数据传输 ( 直到传输完指定长度 )
+     * @param src      源通道
+     * @param srcPos   源通道开始位置
+     * @param count    传输字节数
+     * @param dest     目标通道
+     * @param destPos  目标通道写入位置
+     * @return {@code true} success, {@code false} fail
+     * @throws Exception 传输异常
+     */
+    private static boolean transferFully(
+            final FileChannel src,
+            final long srcPos,
+            final long count,
+            final FileChannel dest,
+            final long destPos
+    )
+            throws Exception {
+        long transferred = 0L;
+        while (transferred < count) {
+            // transferFrom 为指定位置写入, 多线程写入同一目标通道互不影响
+            long length = dest.transferFrom(
+                    src.position(srcPos + transferred),
+                    destPos + transferred, count - transferred
+            );
+            if (length <= 0) break;
+            transferred += length;
+        }
+        return transferred == count;
+    }
+
+    /**
+     * 并行执行任务
+     * @param tasks        任务集合
+     * @param threadNumber 并发线程数
+     * @param method       方法名 ( 用于日志 )
+     * @return {@code true} 全部成功, {@code false} 存在失败
+     */
+    private static boolean invokeAll(
+            final List<Callable<Boolean>> tasks,
+            final int threadNumber,
+            final String method
+    ) {
+        if (tasks.isEmpty()) return true;
+        ExecutorService executor = Executors.newFixedThreadPool(
+                Math.max(1, Math.min(threadNumber, tasks.size()))
+        );
+        try {
+            boolean result = true;
+            for (Future<Boolean> future : executor.invokeAll(tasks)) {
+                if (!Boolean.TRUE.equals(future.get())) result = false;
+            }
+            return result;
+        } catch (Exception e) {
+            JCLogUtils.eTag(TAG, e, method);
+            return false;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,432 @@
+package dev.utils.common.thread;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * detail: 线程池统计数据
+ * @author Ttt
+ * <pre>
+ *     统计提交、完成、失败、拒绝任务数量, 以及任务排队等待时间、执行时间分布 ( 按 2 的幂次微秒分桶 )
+ *     通过 {@link DevThreadPool#setMetricsEnabled(boolean)} 开启, 关闭时任务不做任何包装
+ *     通过 {@link #snapshot()} 或 {@link DevThreadManager#getMetrics()} 获取统计快照
+ * </pre>
+ */
+public final class DevThreadPoolMetrics {
+
+    // 分桶数量 ( 最大 2^30 微秒 ≈ 18 分钟, 超过计入最后一个分桶 )
+    private static final int BUCKET_COUNT = 32;
+
+    // 所属线程池
+    private final ExecutorService mThreadPool;
+    // 提交任务数
+    private final AtomicLong      mSubmitted = new AtomicLong();
+    // 开始执行任务数
+    private final AtomicLong      mStarted   = new AtomicLong();
+    // 执行完成任务数 ( 包含失败 )
+    private final AtomicLong      mCompleted = new AtomicLong();
+    // 执行失败任务数 ( 抛出异常 )
+    private final AtomicLong      mFailed    = new AtomicLong();
+    // 拒绝任务数
+    private final AtomicLong      mRejected  = new AtomicLong();
+    // 排队等待时间分布
+    private final Histogram       mQueueWait = new Histogram();
+    // 执行时间分布
+    private final Histogram       mExecution = new Histogram();
+
+    DevThreadPoolMetrics(final ExecutorService threadPool) {
+        this.mThreadPool = threadPool;
+    }
+
+    // =============
+    // = 对外公开方法 =
+    // =============
+
+    /**
+     * 获取统计快照
+     * @return {@link Snapshot}
+     */
+    public Snapshot snapshot() {
+        long submitted = mSubmitted.get();
+        long started   = mStarted.get();
+        long completed = mCompleted.get();
+        // 优先使用线程池自身数据, 否则通过任务数量估算
+        int queueDepth    = (int) Math.max(0L, submitted - started - mRejected.get());
+        int activeThreads = (int) Math.max(0L, started - completed);
+        int poolSize      = -1;
+        if (mThreadPool instanceof ThreadPoolExecutor) {
+            ThreadPoolExecutor executor = (ThreadPoolExecutor) mThreadPool;
+            queueDepth    = executor.getQueue().size();
+            activeThreads = executor.getActiveCount();
+            poolSize      = executor.getPoolSize();
+        } else {
+            try {
+                if (mThreadPool instanceof ForkJoinPool) {
+                    ForkJoinPool pool = (ForkJoinPool) mThreadPool;
+                    queueDepth    = (int) Math.min(
+                            Integer.MAX_VALUE, pool.getQueuedSubmissionCount() + pool.getQueuedTaskCount()
+                    );
+                    activeThreads = pool.getActiveThreadCount();
+                    poolSize      = pool.getPoolSize();
+                }
+            } catch (LinkageError ignore) {
+                // ForkJoinPool 需要 Android API 21
+            }
+        }
+        return new Snapshot(
+                submitted, completed, mFailed.get(), mRejected.get(),
+                queueDepth, activeThreads, poolSize,
+                mQueueWait.snapshot(), mExecution.snapshot()
+        );
+    }
+
+    // ============
+    // = 任务包装 =
+    // ============
+
+    /**
+     * 包装任务 ( 记录排队等待时间、执行时间 )
+     * @param runnable 任务
+     * @return 包装后的任务
+     */
+    Runnable wrap(final Runnable runnable) {
+        mSubmitted.incrementAndGet();
+        final long enqueueTime = System.nanoTime();
+        return () -> {
+            long    startTime = onStart(enqueueTime);
+            boolean success   = false;
+            try {
+                runnable.run();
+                success = true;
+            } finally {
+                onFinish(startTime, success);
+            }
+        };
+    }
+
+    /**
+     * 包装任务 ( 记录排队等待时间、执行时间 )
+     * @param callable 任务
+     * @param <T>      泛型
+     * @return 包装后的任务
+     */
+    <T> Callable<T> wrap(final Callable<T> callable) {
+        mSubmitted.incrementAndGet();
+        final long enqueueTime = System.nanoTime();
+        return () -> {
+            long    startTime = onStart(enqueueTime);
+            boolean success   = false;
+            try {
+                T result = callable.call();
+                success = true;
+                return result;
+            } finally {
+                onFinish(startTime, success);
+            }
+        };
+    }
+
+    /**
+     * 包装任务集合
+     * @param tasks 任务集合
+     * @param <T>   泛型
+     * @return 包装后的任务集合
+     */
+    <T> List<Callable<T>> wrap(final Collection<? extends Callable<T>> tasks) {
+        List<Callable<T>> list = new ArrayList<>(tasks.size());
+        for (Callable<T> task : tasks) {
+            list.add(wrap(task));
+        }
+        return list;
+    }
+
+    /**
+     * 包装拒绝策略 ( 记录拒绝任务数 )
+     * @param handler 拒绝策略
+     * @return 包装后的拒绝策略
+     */
+    RejectedExecutionHandler wrap(final RejectedExecutionHandler handler) {
+        return (runnable, executor) -> {
+            mRejected.incrementAndGet();
+            handler.rejectedExecution(runnable, executor);
+        };
+    }
+
+    private long onStart(final long enqueueTime) {
+        long startTime = System.nanoTime();
+        mStarted.incrementAndGet();
+        mQueueWait.record(startTime - enqueueTime);
+        return startTime;
+    }
+
+    private void onFinish(
+            final long startTime,
+            final boolean success
+    ) {
+        mExecution.record(System.nanoTime() - startTime);
+        mCompleted.incrementAndGet();
+        if (!success) mFailed.incrementAndGet();
+    }
+
+    // ============
+    // = 时间分布 =
+    // ============
+
+    /**
+     * detail: 时间分布 ( 按 2 的幂次微秒分桶 )
+     * @author Ttt
+     */
+    private static final class Histogram {
+
+        // 分桶数量
+        private final AtomicLongArray mBuckets = new AtomicLongArray(BUCKET_COUNT);
+        // 记录数量
+        private final AtomicLong      mCount   = new AtomicLong();
+        // 总耗时 ( 纳秒 )
+        private final AtomicLong      mTotal   = new AtomicLong();
+        // 最大耗时 ( 纳秒 )
+        private final AtomicLong      mMax     = new AtomicLong();
+
+        void record(final long nanos) {
+            long value  = Math.max(0L, nanos);
+            long micros = value / 1000L;
+            // 分桶 0 为小于 1 微秒, 分桶 i 为 [2^(i-1), 2^i) 微秒
+            int index = Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(micros));
+            mBuckets.incrementAndGet(index);
+            mCount.incrementAndGet();
+            mTotal.addAndGet(value);
+            long max;
+            while (value > (max = mMax.get())) {
+                if (mMax.compareAndSet(max, value)) break;
+            }
+        }
+
+        HistogramSnapshot snapshot() {
+            long[] buckets = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                buckets[i] = mBuckets.get(i);
+            }
+            return new HistogramSnapshot(buckets, mCount.get(), mTotal.get(), mMax.get());
+        }
+    }
+
+    /**
+     * detail: 时间分布快照
+     * @author Ttt
+     */
+    public static final class HistogramSnapshot {
+
+        // 分桶数量 ( 分桶 0 为小于 1 微秒, 分桶 i 为 [2^(i-1), 2^i) 微秒 )
+        private final long[] mBuckets;
+        // 记录数量
+        private final long   mCount;
+        // 总耗时 ( 纳秒 )
+        private final long   mTotalNanos;
+        // 最大耗时 ( 纳秒 )
+        private final long   mMaxNanos;
+
+        HistogramSnapshot(
+                final long[] buckets,
+                final long count,
+                final long totalNanos,
+                final long maxNanos
+        ) {
+            this.mBuckets    = buckets;
+            this.mCount      = count;
+            this.mTotalNanos = totalNanos;
+            this.mMaxNanos   = maxNanos;
+        }
+
+        /**
+         * 获取分桶数量
+         * @return 分桶 0 为小于 1 微秒, 分桶 i 为 [2^(i-1), 2^i) 微秒
+         */
+        public long[] getBuckets() {
+            return mBuckets.clone();
+        }
+
+        /**
+         * 获取记录数量
+         * @return 记录数量
+         */
+        public long getCount() {
+            return mCount;
+        }
+
+        /**
+         * 获取平均耗时
+         * @return 平均耗时 ( 纳秒 )
+         */
+        public long getMeanNanos() {
+            return mCount == 0L ? 0L : mTotalNanos / mCount;
+        }
+
+        /**
+         * 获取最大耗时
+         * @return 最大耗时 ( 纳秒 )
+         */
+        public long getMaxNanos() {
+            return mMaxNanos;
+        }
+
+        /**
+         * 获取百分位耗时 ( 所在分桶上限 )
+         * @param percentile 百分位 ( 0 - 100 )
+         * @return 百分位耗时 ( 微秒 )
+         */
+        public long getPercentileMicros(final double percentile) {
+            if (mCount == 0L) return 0L;
+            long target = (long) Math.ceil(mCount * Math.max(0D, Math.min(100D, percentile)) / 100D);
+            long sum    = 0L;
+            for (int i = 0; i < mBuckets.length; i++) {
+                sum += mBuckets[i];
+                if (sum >= Math.max(1L, target)) return 1L << i;
+            }
+            return 1L << (mBuckets.length - 1);
+        }
+
+        @Override
+        public String toString() {
+            return "count: " + mCount + ", mean: " + getMeanNanos() / 1000L
+                    + "us, p50: " + getPercentileMicros(50D) + "us, p99: " + getPercentileMicros(99D)
+                    + "us, max: " + mMaxNanos / 1000L + "us";
+        }
+    }
+
+    /**
+     * detail: 线程池统计快照
+     * @author Ttt
+     */
+    public static final class Snapshot {
+
+        // 提交任务数
+        private final long              mSubmitted;
+        // 执行完成任务数 ( 包含失败 )
+        private final long              mCompleted;
+        // 执行失败任务数
+        private final long              mFailed;
+        // 拒绝任务数
+        private final long              mRejected;
+        // 排队任务数
+        private final int               mQueueDepth;
+        // 执行中线程数
+        private final int               mActiveThreads;
+        // 线程数 ( 未知则为 -1 )
+        private final int               mPoolSize;
+        // 排队等待时间分布
+        private final HistogramSnapshot mQueueWait;
+        // 执行时间分布
+        private final HistogramSnapshot mExecution;
+
+        Snapshot(
+                final long submitted,
+                final long completed,
+                final long failed,
+                final long rejected,
+                final int queueDepth,
+                final int activeThreads,
+                final int poolSize,
+                final HistogramSnapshot queueWait,
+                final HistogramSnapshot execution
+        ) {
+            this.mSubmitted     = submitted;
+            this.mCompleted     = completed;
+            this.mFailed        = failed;
+            this.mRejected      = rejected;
+            this.mQueueDepth    = queueDepth;
+            this.mActiveThreads = activeThreads;
+            this.mPoolSize      = poolSize;
+            this.mQueueWait     = queueWait;
+            this.mExecution     = execution;
+        }
+
+        /**
+         * 获取提交任务数
+         * @return 提交任务数
+         */
+        public long getSubmitted() {
+            return mSubmitted;
+        }
+
+        /**
+         * 获取执行完成任务数 ( 包含失败 )
+         * @return 执行完成任务数
+         */
+        public long getCompleted() {
+            return mCompleted;
+        }
+
+        /**
+         * 获取执行失败任务数
+         * @return 执行失败任务数
+         */
+        public long getFailed() {
+            return mFailed;
+        }
+
+        /**
+         * 获取拒绝任务数
+         * @return 拒绝任务数
+         */
+        public long getRejected() {
+            return mRejected;
+        }
+
+        /**
+         * 获取排队任务数
+         * @return 排队任务数
+         */
+        public int getQueueDepth() {
+            return mQueueDepth;
+        }
+
+        /**
+         * 获取执行中线程数
+         * @return 执行中线程数
+         */
+        public int getActiveThreads() {
+            return mActiveThreads;
+        }
+
+        /**
+         * 获取线程数
+         * @return 线程数, 未知则返回 -1
+         */
+        public int getPoolSize() {
+            return mPoolSize;
+        }
+
+        /**
+         * 获取排队等待时间分布
+         * @return {@link HistogramSnapshot}
+         */
+        public HistogramSnapshot getQueueWait() {
+            return mQueueWait;
+        }
+
+        /**
+         * 获取执行时间分布
+         * @return {@link HistogramSnapshot}
+         */
+        public HistogramSnapshot getExecution() {
+            return mExecution;
+        }
+
+        @Override
+        public String toString() {
+            return "submitted: " + mSubmitted + ", completed: " + mCompleted
+                    + ", failed: " + mFailed + ", rejected: " + mRejected
+                    + ", queueDepth: " + mQueueDepth + ", activeThreads: " + mActiveThreads
+                    + ", poolSize: " + mPoolSize
+                    + ", queueWait: [" + mQueueWait + "], execution: [" + mExecution + "]";
+        }
+    }
+}
\ No newline at end of file
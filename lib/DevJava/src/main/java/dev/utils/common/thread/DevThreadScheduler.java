@@ -0,0 +1,354 @@
+package dev.utils.common.thread;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * detail: 线程池共用定时器
+ * @author Ttt
+ * <pre>
+ *     全部 {@link DevThreadPool} 共用一个定时线程 ( 首次使用时创建, 空闲 60 秒后回收 )
+ *     定时线程只负责计时, 到期后将任务交由所属线程池执行
+ *     周期任务上一次未执行完成时不会重复执行, 任务抛出异常后不再执行 ( 与 ScheduledExecutorService 一致 )
+ *     定时线程中不执行任务、不阻塞等待, 线程池无法立即接收任务 ( 队列已满、已关闭 ) 时
+ *     延迟任务以 RejectedExecutionException 结束, 周期任务跳过本次执行
+ * </pre>
+ */
+final class DevThreadScheduler {
+
+    private DevThreadScheduler() {
+    }
+
+    // 空闲定时线程存活时间 ( 秒 )
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    /**
+     * detail: 共用定时器 ( 延迟初始化 )
+     * @author Ttt
+     */
+    private static final class Holder {
+
+        static final ScheduledThreadPoolExecutor SCHEDULER = create();
+
+        private static ScheduledThreadPoolExecutor create() {
+            ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "DevThreadScheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+            scheduler.allowCoreThreadTimeOut(true);
+            return scheduler;
+        }
+    }
+
+    /**
+     * 取消计时任务并移出定时器队列
+     * <pre>
+     *     setRemoveOnCancelPolicy 需要 Android API 21, 因此取消后手动 purge
+     * </pre>
+     * @param trigger 定时器计时任务
+     */
+    private static void cancelTrigger(final ScheduledFuture<?> trigger) {
+        if (trigger != null && trigger.cancel(false)) {
+            Holder.SCHEDULER.purge();
+        }
+    }
+
+    // =
+
+    /**
+     * 延迟执行 Callable 命令
+     * @param executor 执行任务线程池
+     * @param callable 命令
+     * @param delay    延迟时间
+     * @param unit     时间单位
+     * @param <V>      泛型
+     * @return {@link ScheduledFuture}
+     */
+    static <V> ScheduledFuture<V> schedule(
+            final DevThreadPool executor,
+            final Callable<V> callable,
+            final long delay,
+            final TimeUnit unit
+    ) {
+        final DelayedTask<V> task = new DelayedTask<>(executor, callable, unit.toNanos(delay));
+        task.setTrigger(Holder.SCHEDULER.schedule(() -> {
+            if (!task.isDone() && !executor.handoff(task)) {
+                task.reject(new RejectedExecutionException("executor can not accept scheduled task"));
+            }
+        }, delay, unit));
+        return task;
+    }
+
+    /**
+     * 延迟并循环执行命令
+     * @param executor     执行任务线程池
+     * @param command      命令
+     * @param initialDelay 首次执行的延迟时间
+     * @param period       连续执行之间的周期或每一次执行终止和下一次执行开始之间的延迟
+     * @param unit         时间单位
+     * @param fixedRate    是否固定周期 ( false 为固定延迟 )
+     * @return {@link ScheduledFuture}
+     */
+    static ScheduledFuture<?> schedulePeriodic(
+            final DevThreadPool executor,
+            final Runnable command,
+            final long initialDelay,
+            final long period,
+            final TimeUnit unit,
+            final boolean fixedRate
+    ) {
+        if (period <= 0L) throw new IllegalArgumentException("period <= 0");
+        PeriodicTask task = new PeriodicTask(
+                executor, command, unit.toNanos(initialDelay), unit.toNanos(period), fixedRate
+        );
+        if (fixedRate) {
+            task.setTrigger(Holder.SCHEDULER.scheduleAtFixedRate(
+                    task::fire, initialDelay, period, unit
+            ));
+        } else {
+            task.setTrigger(Holder.SCHEDULER.schedule(task::fire, initialDelay, unit));
+        }
+        return task;
+    }
+
+    // ============
+    // = 内部任务 =
+    // ============
+
+    /**
+     * detail: 延迟任务 ( 在所属线程池中执行 )
+     * @author Ttt
+     */
+    private static final class DelayedTask<V>
+            extends FutureTask<V>
+            implements ScheduledFuture<V> {
+
+        // 执行任务线程池
+        private final DevThreadPool         executor;
+        // 到期时间 ( 纳秒 )
+        private final long                  triggerTime;
+        // 定时器计时任务
+        private volatile ScheduledFuture<?> trigger;
+
+        DelayedTask(
+                final DevThreadPool executor,
+                final Callable<V> callable,
+                final long delayNanos
+        ) {
+            super(callable);
+            this.executor    = executor;
+            this.triggerTime = System.nanoTime() + delayNanos;
+            executor.addScheduledCount(1);
+        }
+
+        @Override
+        protected void done() {
+            // 执行完成、异常、取消都只调用一次
+            executor.addScheduledCount(-1);
+        }
+
+        void setTrigger(final ScheduledFuture<?> scheduled) {
+            trigger = scheduled;
+            // 设置前已取消则同步取消计时任务
+            if (isCancelled()) cancelTrigger(scheduled);
+        }
+
+        void reject(final RejectedExecutionException e) {
+            setException(e);
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            ScheduledFuture<?> scheduled = trigger;
+            if (scheduled != null) return scheduled.getDelay(unit);
+            return unit.convert(triggerTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            boolean result = super.cancel(mayInterruptIfRunning);
+            cancelTrigger(trigger);
+            return result;
+        }
+    }
+
+    /**
+     * detail: 周期任务 ( 在所属线程池中执行 )
+     * @author Ttt
+     */
+    private static final class PeriodicTask
+            implements Runnable, ScheduledFuture<Object> {
+
+        // 执行任务线程池
+        private final DevThreadPool         executor;
+        // 命令
+        private final Runnable              command;
+        // 周期 ( 纳秒 )
+        private final long                  periodNanos;
+        // 是否固定周期
+        private final boolean               fixedRate;
+        // 是否执行中
+        private final AtomicBoolean         running   = new AtomicBoolean();
+        // 是否已结束
+        private final AtomicBoolean         completed = new AtomicBoolean();
+        // 结束通知
+        private final CountDownLatch        latch     = new CountDownLatch(1);
+        // 首次到期时间 ( 纳秒, 未设置定时器计时任务时使用 )
+        private final long                  triggerTime;
+        // 定时器计时任务
+        private volatile ScheduledFuture<?> trigger;
+        // 是否已取消
+        private volatile boolean            cancelled;
+        // 执行异常
+        private volatile Throwable          failure;
+
+        PeriodicTask(
+                final DevThreadPool executor,
+                final Runnable command,
+                final long initialDelayNanos,
+                final long periodNanos,
+                final boolean fixedRate
+        ) {
+            this.executor    = executor;
+            this.command     = command;
+            this.periodNanos = periodNanos;
+            this.fixedRate   = fixedRate;
+            this.triggerTime = System.nanoTime() + initialDelayNanos;
+            executor.addScheduledCount(1);
+        }
+
+        /**
+         * 计时到期 ( 定时线程中调用 )
+         */
+        void fire() {
+            if (isDone()) return;
+            if (executor.isShutdown()) {
+                cancel(false);
+                return;
+            }
+            // 上一次未执行完成则跳过
+            if (!running.compareAndSet(false, true)) return;
+            if (!executor.handoff(this)) {
+                // 线程池无法立即接收则跳过本次执行
+                running.set(false);
+                if (executor.isShutdown()) {
+                    cancel(false);
+                } else if (!fixedRate) {
+                    setTrigger(Holder.SCHEDULER.schedule(this::fire, periodNanos, TimeUnit.NANOSECONDS));
+                }
+            }
+        }
+
+        void setTrigger(final ScheduledFuture<?> scheduled) {
+            trigger = scheduled;
+            // 设置前已结束则同步取消计时任务
+            if (isDone()) cancelTrigger(scheduled);
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (isDone()) return;
+                command.run();
+            } catch (Throwable throwable) {
+                finish(throwable);
+                return;
+            } finally {
+                running.set(false);
+            }
+            if (!fixedRate && !isDone()) {
+                setTrigger(Holder.SCHEDULER.schedule(this::fire, periodNanos, TimeUnit.NANOSECONDS));
+            }
+        }
+
+        private void finish(final Throwable throwable) {
+            complete(false, throwable);
+        }
+
+        /**
+         * 结束任务 ( 只结束一次 )
+         * @param cancel    是否取消
+         * @param throwable 执行异常
+         * @return {@code true} success, {@code false} fail
+         */
+        private boolean complete(
+                final boolean cancel,
+                final Throwable throwable
+        ) {
+            if (!completed.compareAndSet(false, true)) return false;
+            cancelled = cancel;
+            failure   = throwable;
+            latch.countDown();
+            executor.addScheduledCount(-1);
+            cancelTrigger(trigger);
+            return true;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            ScheduledFuture<?> scheduled = trigger;
+            if (scheduled != null) return scheduled.getDelay(unit);
+            return unit.convert(triggerTime - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            return Long.compare(getDelay(TimeUnit.NANOSECONDS), other.getDelay(TimeUnit.NANOSECONDS));
+        }
+
+        @Override
+        public boolean cancel(final boolean mayInterruptIfRunning) {
+            return complete(true, null);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        @Override
+        public boolean isDone() {
+            return completed.get();
+        }
+
+        @Override
+        public Object get()
+                throws InterruptedException, ExecutionException {
+            latch.await();
+            return report();
+        }
+
+        @Override
+        public Object get(
+                final long timeout,
+                final TimeUnit unit
+        )
+                throws InterruptedException, ExecutionException, TimeoutException {
+            if (!latch.await(timeout, unit)) throw new TimeoutException();
+            return report();
+        }
+
+        private Object report()
+                throws ExecutionException {
+            if (cancelled) throw new CancellationException();
+            throw new ExecutionException(failure);
+        }
+    }
+}
\ No newline at end of file